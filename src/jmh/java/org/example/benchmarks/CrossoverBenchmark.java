@@ -0,0 +1,50 @@
+package org.example.benchmarks;
+
+import org.example.models.PriceSeries;
+import org.example.signals.CrossoverKernel;
+import org.example.signals.CrossoverSignals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk crossover screening with the SIMD and scalar kernels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class CrossoverBenchmark {
+
+    @Param({"10000", "1000000", "50000000"})
+    public int bars;
+
+    @Param({"vector", "scalar"})
+    public String kernelName;
+
+    private PriceSeries series;
+    private CrossoverKernel kernel;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.series(bars);
+        kernel = kernelName.equals("vector") ? CrossoverKernel.vector() : CrossoverKernel.scalar();
+    }
+
+    @Benchmark
+    public CrossoverSignals crossovers() {
+        return CrossoverSignals.compute(series, 20, 50, kernel);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.benchmarks;
+
+import org.example.models.MarketDataPoint;
+import org.example.models.PriceSeries;
+import org.example.utils.CsvReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing cost of a "date,close" CSV file: the legacy line reader against the memory-mapped columnar reader.
+ * Files are capped at 10M rows (about 300MB on disk) so the temp files stay manageable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CsvReaderBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int bars;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = SyntheticData.writeCsv(bars);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<MarketDataPoint> readCsv() {
+        return CsvReader.readCsv(file.toString());
+    }
+
+    @Benchmark
+    public PriceSeries readSeries() {
+        return CsvReader.readSeries(file.toString());
+    }
+}
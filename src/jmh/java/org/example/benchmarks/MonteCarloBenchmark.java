@@ -0,0 +1,49 @@
+package org.example.benchmarks;
+
+import org.example.engine.MonteCarloResult;
+import org.example.engine.MonteCarloSimulation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monte Carlo resampling of a trade history, 10k histories per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MonteCarloBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int trades;
+
+    @Param({"SHUFFLE", "BOOTSTRAP", "BLOCK_BOOTSTRAP"})
+    public MonteCarloSimulation.Resampling resampling;
+
+    private double[] returns;
+    private MonteCarloSimulation simulation;
+
+    @Setup
+    public void setUp() {
+        returns = MonteCarloSimulation.tradeReturns(SyntheticData.trades(2 * trades));
+        simulation = new MonteCarloSimulation(resampling, 10_000, 42);
+    }
+
+    @Benchmark
+    public MonteCarloResult simulate() {
+        return simulation.run(10_000, returns);
+    }
+}
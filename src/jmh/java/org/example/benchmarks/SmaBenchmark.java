@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.indicators.IndicatorCache;
+import org.example.indicators.SimpleMovingAverage;
+import org.example.models.PriceSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simple moving average over the close: the bulk array computation used by sweeps and the streaming
+ * indicator updated bar by bar by MovingAverageStrategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SmaBenchmark {
+
+    @Param({"10000", "1000000", "50000000"})
+    public int bars;
+
+    @Param({"20", "200"})
+    public int period;
+
+    private PriceSeries series;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.series(bars);
+    }
+
+    @Benchmark
+    public double[] computeSma() {
+        return IndicatorCache.computeSma(series, period);
+    }
+
+    @Benchmark
+    public void streamingSma(Blackhole blackhole) {
+        SimpleMovingAverage sma = new SimpleMovingAverage(period);
+        int size = series.size();
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(sma.update(series.getClose(i)));
+        }
+    }
+}
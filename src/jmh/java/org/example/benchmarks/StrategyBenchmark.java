@@ -0,0 +1,77 @@
+package org.example.benchmarks;
+
+import org.example.engine.CostModel;
+import org.example.engine.FillModel;
+import org.example.engine.MovingAverageStrategy;
+import org.example.engine.Strategy;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.models.Trade;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full single-series backtests through the engine, including fills, trade recording and metrics.
+ * Both strategies run with the default no-op trade listener, so console output is not measured.
+ * {@link #movingAverageRunWithCosts()} repeats the moving average run with commissions, spread and volume
+ * slippage, to show what the cost hooks add to the loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StrategyBenchmark {
+
+    @Param({"10000", "1000000", "50000000"})
+    public int bars;
+
+    private PriceSeries series;
+    private double meanClose;
+
+    @Setup
+    public void setUp() {
+        series = SyntheticData.series(bars);
+        double sum = 0;
+        for (int i = 0; i < bars; i++) {
+            sum += series.getClose(i);
+        }
+        meanClose = sum / bars;
+    }
+
+    @Benchmark
+    public PerformanceMetrics movingAverageRun() {
+        MovingAverageStrategy strategy = new MovingAverageStrategy(20, 50, 5000.0, 0.05, 0.02, 0.05);
+        strategy.run(series);
+        return strategy.getPerformanceMetrics();
+    }
+
+    @Benchmark
+    public PerformanceMetrics movingAverageRunWithCosts() {
+        MovingAverageStrategy strategy = new MovingAverageStrategy(20, 50, 5000.0, 0.05, 0.02, 0.05);
+        strategy.setTradingCosts(CostModel.perShare(0.005, 0), new FillModel(5, 0.1)); // No minimum, so every signal still trades
+        strategy.run(series);
+        return strategy.getPerformanceMetrics();
+    }
+
+    @Benchmark
+    public List<Trade> thresholdRun() {
+        // Buying below the mean close keeps the strategy trading throughout the walk
+        Strategy strategy = new Strategy(meanClose, meanClose * 1.05, 5000.0, 0.05, 0.02, 0.05);
+        strategy.run(series);
+        return strategy.getTradeHistory();
+    }
+}
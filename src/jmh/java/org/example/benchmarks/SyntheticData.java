@@ -0,0 +1,82 @@
+package org.example.benchmarks;
+
+import org.example.models.PriceSeries;
+import org.example.models.Trade;
+import org.example.utils.DateUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic market data for the benchmarks: a geometric random walk of one-minute bars.
+ * A fixed seed keeps every fork and run on identical data.
+ */
+final class SyntheticData {
+    private static final long START_MILLIS = 946_684_800_000L; // 2000-01-01T00:00Z
+    private static final long BAR_MILLIS = 60_000L;
+    private static final long SEED = 42L;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Generates a close-only price series of the given length, starting at 100.
+     */
+    static PriceSeries series(int bars) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        PriceSeries.Builder builder = PriceSeries.builder(bars);
+        double price = 100.0;
+        for (int i = 0; i < bars; i++) {
+            price *= 1 + 0.001 * (random.nextDouble() * 2 - 1);
+            builder.add(START_MILLIS + i * BAR_MILLIS, price);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes a "date,close" CSV file in the layout of the sample data files.
+     */
+    static Path writeCsv(int bars) throws IOException {
+        PriceSeries series = series(bars);
+        Path file = Files.createTempFile("bench-bars-" + bars + "-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("date,close\n");
+            for (int i = 0; i < bars; i++) {
+                writer.write(DateUtils.format(series.getTimestamp(i)));
+                writer.write(',');
+                writer.write(Double.toString(series.getClose(i)));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Generates alternating BUY/SELL trades, as a strategy would record them.
+     */
+    static List<Trade> trades(int count) {
+        PriceSeries series = series(count);
+        List<Trade> trades = new ArrayList<>(count);
+        double balance = 5000.0;
+        double buyPrice = 0;
+        for (int i = 0; i < count; i++) {
+            double price = series.getClose(i);
+            long timestamp = series.getTimestamp(i);
+            if (i % 2 == 0) {
+                buyPrice = price;
+                trades.add(new Trade("BUY", timestamp, price, 0, balance, 2.5, price * 0.98, price * 1.05));
+            } else {
+                double profit = 2.5 * (price - buyPrice);
+                balance += profit;
+                trades.add(new Trade("SELL", timestamp, price, profit, balance, 2.5, buyPrice * 0.98, buyPrice * 1.05));
+            }
+        }
+        return trades;
+    }
+}
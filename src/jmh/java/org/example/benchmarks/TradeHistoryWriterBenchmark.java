@@ -0,0 +1,64 @@
+package org.example.benchmarks;
+
+import org.example.models.Trade;
+import org.example.utils.TradeHistoryWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exporting a trade history to CSV and to the binary columnar format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TradeHistoryWriterBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int trades;
+
+    private List<Trade> history;
+    private Path file;
+    private Path binaryFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        history = SyntheticData.trades(trades);
+        file = Files.createTempFile("bench-trades-", ".csv");
+        binaryFile = Files.createTempFile("bench-trades-", ".bin");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(binaryFile);
+    }
+
+    @Benchmark
+    public void writeToCSV() {
+        TradeHistoryWriter.writeToCSV(history, file.toString());
+    }
+
+    @Benchmark
+    public void writeBinary() {
+        TradeHistoryWriter.writeBinary(history, binaryFile.toString());
+    }
+}
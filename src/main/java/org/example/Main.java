@@ -7,6 +7,20 @@ public class Main {
         System.out.println("Starting Backtesting Engine...");
 
         BacktestRunner backtest = new BacktestRunner();
-        backtest.run();
+        if (args.length > 0 && args[0].equals("sweep")) {
+            backtest.runSweep();
+        } else if (args.length > 0 && args[0].equals("portfolio")) {
+            backtest.runPortfolio();
+        } else if (args.length > 0 && args[0].equals("walkforward")) {
+            backtest.runWalkForward();
+        } else if (args.length > 0 && args[0].equals("montecarlo")) {
+            backtest.runMonteCarlo();
+        } else if (args.length > 0 && args[0].equals("stream")) {
+            backtest.runStreaming();
+        } else if (args.length > 0 && args[0].equals("batch")) {
+            backtest.runBatch(args.length > 1 ? args[1] : "data/sample_batch.json");
+        } else {
+            backtest.run();
+        }
     }
 }
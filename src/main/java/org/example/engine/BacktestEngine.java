@@ -0,0 +1,182 @@
+package org.example.engine;
+
+import org.example.listeners.TradeListener;
+import org.example.models.BacktestResult;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.utils.BarStream;
+
+import java.util.function.Function;
+
+/**
+ * The single event loop shared by all strategies.
+ * Replays a price series bar by bar in one pass, letting the strategy place orders on a {@link Portfolio}
+ * that handles fills, accounting and metrics. Before each bar reaches the strategy, the portfolio fills any
+ * stop-loss or take-profit the bar's range touched. Trades and the final result are reported to a
+ * {@link TradeListener}; the default listener discards them, so runs print nothing unless a sink is passed in.
+ * After each bar the portfolio is marked to market, and the metrics are computed online from that equity series.
+ */
+public class BacktestEngine {
+    private final double initialBalance;
+    private final TradeListener listener;
+    private final boolean retainTrades;
+    private boolean recordEquityCurve = false;
+    private CostModel costModel = CostModel.NONE;
+    private FillModel fillModel = FillModel.IDEAL;
+
+    /**
+     * Creates a silent engine.
+     *
+     * @param initialBalance The starting cash of each run.
+     */
+    public BacktestEngine(double initialBalance) {
+        this(initialBalance, TradeListener.NONE);
+    }
+
+    /**
+     * @param initialBalance The starting cash of each run.
+     * @param listener The listener notified of every trade and of each run's result.
+     */
+    public BacktestEngine(double initialBalance, TradeListener listener) {
+        this(initialBalance, listener, true);
+    }
+
+    /**
+     * @param initialBalance The starting cash of each run.
+     * @param listener The listener notified of every trade and of each run's result.
+     * @param retainTrades False to pass trades only to the listener and return an empty trade history, so that
+     *                     long streamed runs use constant memory.
+     */
+    public BacktestEngine(double initialBalance, TradeListener listener, boolean retainTrades) {
+        this.initialBalance = initialBalance;
+        this.listener = listener;
+        this.retainTrades = retainTrades;
+    }
+
+    /**
+     * Makes later runs return their per-bar equity curve in {@link BacktestResult#getEquityCurve()}.
+     * Off by default: the metrics never need the stored curve, and it costs 16 bytes per bar.
+     *
+     * @param recordEquityCurve True to record the curve.
+     */
+    public void setRecordEquityCurve(boolean recordEquityCurve) {
+        this.recordEquityCurve = recordEquityCurve;
+    }
+
+    /**
+     * Sets the commissions and fill prices of later runs (free fills at the reference price by default).
+     *
+     * @param costModel The commission charged on every fill.
+     * @param fillModel The spread and slippage applied to every fill.
+     */
+    public void setTradingCosts(CostModel costModel, FillModel fillModel) {
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+    }
+
+    /**
+     * Runs a strategy over a series.
+     *
+     * @param strategy The strategy to run.
+     * @param marketData The price series.
+     * @return The trades and metrics of the run.
+     */
+    public BacktestResult run(TradingStrategy strategy, PriceSeries marketData) {
+        Portfolio portfolio = newPortfolio(null);
+        strategy.onStart(marketData, portfolio);
+
+        int size = marketData.size();
+        for (int i = 0; i < size; i++) {
+            portfolio.setBar(marketData, i);
+            portfolio.checkExits();
+            strategy.onBar(marketData, i, portfolio);
+            portfolio.markToMarket();
+        }
+        strategy.onFinish(portfolio);
+        portfolio.remarkLast(); // The last bar's point must include the final sells
+
+        return complete(portfolio);
+    }
+
+    /**
+     * Runs a strategy over bars streamed from a {@link BarStream}, for data too large to load into memory.
+     * The strategy sees each block of the stream as its {@code marketData}, with block-local indices; strategies
+     * that keep their own state across bars (rather than looking back through {@code marketData}) behave exactly
+     * as in {@link #run(TradingStrategy, PriceSeries)}. For memory that stays constant however many trades the run
+     * makes, create the engine with {@code retainTrades = false} and a file-writing {@link TradeListener}.
+     *
+     * @param strategy The strategy to run.
+     * @param stream The bar stream; it is read to the end but not closed.
+     * @return The trades and metrics of the run.
+     */
+    public BacktestResult run(TradingStrategy strategy, BarStream stream) {
+        Portfolio portfolio = newPortfolio(null);
+        PriceSeries block = stream.next();
+        strategy.onStart(block != null ? block : PriceSeries.builder(0).build(), portfolio);
+
+        while (block != null) {
+            int size = block.size();
+            for (int i = 0; i < size; i++) {
+                portfolio.setBar(block, i);
+                portfolio.checkExits();
+                strategy.onBar(block, i, portfolio);
+                portfolio.markToMarket();
+            }
+            block = stream.next(); // The last block stays valid, so onFinish can still fill at its close
+        }
+        strategy.onFinish(portfolio);
+        portfolio.remarkLast(); // The last bar's point must include the final sells
+        return complete(portfolio);
+    }
+
+    /**
+     * Runs a portfolio backtest: one strategy instance per symbol, trading from a shared cash balance.
+     * The symbols' bars are replayed in timestamp order through a {@link MergedBarStream}, and each symbol's
+     * strategy is finished right after that symbol's last bar (symbols without bars are never called).
+     *
+     * @param universe The symbols and their price series.
+     * @param strategyFactory Creates the strategy instance for a symbol name.
+     * @return The trades of all symbols and the metrics of the combined portfolio.
+     */
+    public BacktestResult run(SymbolUniverse universe, Function<String, TradingStrategy> strategyFactory) {
+        PriceSeries[] series = universe.seriesArray();
+        Portfolio portfolio = newPortfolio(universe.symbolArray());
+        TradingStrategy[] strategies = new TradingStrategy[series.length];
+        for (int id = 0; id < series.length; id++) {
+            strategies[id] = strategyFactory.apply(universe.getSymbol(id));
+            strategies[id].onStart(series[id], portfolio);
+        }
+
+        MergedBarStream stream = new MergedBarStream(series);
+        while (stream.hasNext()) {
+            int id = stream.next();
+            int index = stream.index(id);
+            portfolio.setBar(id, series[id], index);
+            portfolio.checkExits();
+            strategies[id].onBar(series[id], index, portfolio);
+            if (stream.isExhausted(id)) {
+                strategies[id].onFinish(portfolio);
+            }
+            if (!stream.hasNext() || stream.peekTimestamp() != series[id].getTimestamp(index)) {
+                portfolio.markToMarket(); // One equity point per timestamp, after every symbol's bar of it
+            }
+        }
+
+        return complete(portfolio);
+    }
+
+    private Portfolio newPortfolio(String[] symbols) {
+        Portfolio portfolio = new Portfolio(initialBalance, symbols, listener, retainTrades, costModel, fillModel);
+        if (recordEquityCurve) {
+            portfolio.recordEquityCurve();
+        }
+        return portfolio;
+    }
+
+    private BacktestResult complete(Portfolio portfolio) {
+        PerformanceMetrics metrics = portfolio.computeMetrics();
+        BacktestResult result = new BacktestResult(portfolio.getTradeHistory(), metrics, portfolio.getEquityCurve());
+        listener.onRunComplete(result);
+        return result;
+    }
+}
@@ -1,19 +1,34 @@
 package org.example.engine;
 
-import org.example.utils.CsvReader;
+import org.example.indicators.IndicatorCache;
+import org.example.instrumentation.RunProfile;
+import org.example.instrumentation.RunProfiler;
+import org.example.listeners.ConsoleTradeListener;
+import org.example.utils.BarCache;
+import org.example.utils.BarStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
-import org.example.models.MarketDataPoint;
+import org.example.models.PriceSeries;
 import org.example.utils.TradeHistoryWriter;
 
 
 public class BacktestRunner {
+    private static final String PROFILE_PATH = "data/trade_results/run_profile.json";
 
     public void run() {
         System.out.println("Running Moving Average Crossover Strategy Backtest...");
+        RunProfiler profiler = new RunProfiler("backtest");
 
-        // Load market data from CSV
-        List<MarketDataPoint> marketData = CsvReader.readCsv("data/sample_market_data_MA_crossover.csv");
+        // Load market data from CSV (through the binary bar cache, so reruns skip parsing)
+        PriceSeries marketData;
+        try (RunProfiler.Phase phase = profiler.phase("load")) {
+            marketData = BarCache.load("data/sample_market_data_MA_crossover.csv");
+            phase.setItems(marketData.size());
+        }
 
         System.out.println("Total data points loaded: " + marketData.size());
 
@@ -36,11 +51,159 @@ public class BacktestRunner {
         // Initialize strategy with user-defined parameters
 //        Strategy strategy = new Strategy(buyThreshold, sellThreshold, initialBalance, riskPerTrade, stopLossPercent, takeProfitPercent);
         MovingAverageStrategy strategy = new MovingAverageStrategy(shortPeriod, longPeriod, initialBalance, riskPerTrade, stopLossPercent, takeProfitPercent);
+        strategy.setTradeListener(new ConsoleTradeListener()); // Backtests are silent unless a listener is set
+
+        // Compute the moving averages up front so their cost is measured apart from the simulation loop
+        double[] shortSMA;
+        double[] longSMA;
+        try (RunProfiler.Phase phase = profiler.phase("indicators")) {
+            shortSMA = IndicatorCache.computeSma(marketData, shortPeriod);
+            longSMA = IndicatorCache.computeSma(marketData, longPeriod);
+            phase.setItems(marketData.size());
+        }
 
         // Run the strategy on the market data
-        strategy.run(marketData);
+        try (RunProfiler.Phase phase = profiler.phase("simulation")) {
+            strategy.run(marketData, shortSMA, longSMA);
+            phase.setItems(marketData.size());
+        }
 
         // Save trade history to CSV
-        TradeHistoryWriter.writeToCSV(strategy.getTradeHistory());
+        try (RunProfiler.Phase phase = profiler.phase("output")) {
+            TradeHistoryWriter.writeToCSV(strategy.getTradeHistory());
+            phase.setItems(strategy.getTradeHistory().size());
+        }
+
+        RunProfile profile = profiler.finish();
+        profile.print();
+        profile.writeJson(Paths.get(PROFILE_PATH));
+    }
+
+    /**
+     * Runs a grid search over the MovingAverageStrategy parameters and prints the best combinations.
+     */
+    public void runSweep() {
+        System.out.println("Running Moving Average Crossover parameter sweep...");
+
+        PriceSeries marketData = BarCache.load("data/sample_market_data_MA_crossover.csv");
+        System.out.println("Total data points loaded: " + marketData.size());
+
+        double initialBalance = 5000.0;
+        SweepGrid grid = new SweepGrid(
+                SweepGrid.range(5, 50, 5),          // short periods
+                SweepGrid.range(20, 200, 10),       // long periods
+                new double[]{0.05, 0.10},           // risk per trade
+                new double[]{0.01, 0.02, 0.03},     // stop-loss percents
+                new double[]{0.03, 0.05, 0.10});    // take-profit percents
+
+        long start = System.nanoTime();
+        List<SweepResult> results = new ParameterSweep(grid, initialBalance).run(marketData);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Evaluated %d combinations in %d ms%n", results.size(), elapsedMillis);
+        ParameterSweep.printTable(results, 10);
+    }
+
+    /**
+     * Runs the Moving Average Crossover Strategy on several symbols at once, sharing one cash balance.
+     */
+    public void runPortfolio() {
+        System.out.println("Running Moving Average Crossover portfolio backtest...");
+
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("AAPL", "data/sample_market_data.csv");
+        files.put("SAMPLE", "data/sample_market_data_MA_crossover.csv");
+        SymbolUniverse universe = SymbolUniverse.load(files);
+        System.out.println("Loaded " + universe);
+
+        double initialBalance = 5000.0;
+        BacktestEngine engine = new BacktestEngine(initialBalance, new ConsoleTradeListener());
+        engine.run(universe, symbol -> new MovingAverageStrategy(20, 50, initialBalance, 0.05, 0.02, 0.05));
+    }
+
+    /**
+     * Runs a walk-forward analysis of the Moving Average Crossover Strategy: parameters are chosen on a
+     * rolling training window and evaluated on the bars that follow it.
+     */
+    public void runWalkForward() {
+        System.out.println("Running Moving Average Crossover walk-forward analysis...");
+
+        PriceSeries marketData = BarCache.load("data/sample_market_data.csv");
+        System.out.println("Total data points loaded: " + marketData.size());
+
+        SweepGrid grid = new SweepGrid(
+                SweepGrid.range(5, 30, 5),          // short periods
+                SweepGrid.range(20, 100, 10),       // long periods
+                new double[]{0.05},                 // risk per trade
+                new double[]{0.02},                 // stop-loss percents
+                new double[]{0.05});                // take-profit percents
+
+        // 250 training bars, 50 test bars, windows advancing by 25 bars
+        WalkForwardRunner walkForward = new WalkForwardRunner(grid, 5000.0, 250, 50, 25);
+        walkForward.run(marketData).print();
+    }
+
+    /**
+     * Backtests the Moving Average Crossover Strategy once, then stress-tests its trade history with Monte Carlo
+     * reshuffles and block bootstraps to show the spread of outcomes the same trades could have produced.
+     */
+    public void runMonteCarlo() {
+        System.out.println("Running Moving Average Crossover Monte Carlo analysis...");
+
+        PriceSeries marketData = BarCache.load("data/sample_market_data.csv");
+        System.out.println("Total data points loaded: " + marketData.size());
+
+        double initialBalance = 5000.0;
+        MovingAverageStrategy strategy = new MovingAverageStrategy(5, 20, initialBalance, 0.05, 0.02, 0.05);
+        strategy.run(marketData);
+        System.out.println("Backtest: " + strategy.getPerformanceMetrics());
+
+        for (MonteCarloSimulation.Resampling resampling : MonteCarloSimulation.Resampling.values()) {
+            System.out.println();
+            new MonteCarloSimulation(resampling, 10_000, 42).run(initialBalance, strategy.getTradeHistory()).print();
+        }
+    }
+
+    /**
+     * Runs the Moving Average Crossover Strategy over a file streamed block by block, so memory use does not
+     * grow with the file size.
+     */
+    public void runStreaming() {
+        System.out.println("Running Moving Average Crossover Strategy on a streamed file...");
+
+        MovingAverageStrategy strategy = new MovingAverageStrategy(20, 50, 5000.0, 0.05, 0.02, 0.05);
+        strategy.setTradeListener(new ConsoleTradeListener());
+        try (BarStream stream = BarStream.open("data/sample_market_data.csv")) {
+            strategy.run(stream);
+        } catch (IOException e) {
+            System.err.println("Error opening market data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs every backtest listed in a JSON job file (see {@link BatchConfig}) and prints a summary.
+     *
+     * @param jobFile The path of the job file.
+     */
+    public void runBatch(String jobFile) {
+        System.out.println("Running backtest batch " + jobFile + "...");
+
+        BatchConfig config;
+        List<BatchJob> jobs;
+        try {
+            config = BatchConfig.load(Paths.get(jobFile));
+            jobs = config.expand();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading batch file: " + e.getMessage());
+            return;
+        }
+        System.out.printf("Running %d jobs on %d threads%n", jobs.size(), config.getParallelism());
+
+        long start = System.nanoTime();
+        List<BatchJobResult> results = new BatchRunner(config).run(jobs);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Batch finished in %d ms; results saved to: %s%n", elapsedMillis, config.getOutputDirectory());
+        BatchRunner.printSummary(results, 10);
     }
-}
\ No newline at end of file
+}
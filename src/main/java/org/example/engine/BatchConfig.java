@@ -0,0 +1,188 @@
+package org.example.engine;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A batch of backtests read from a JSON job file.
+ *
+ * Each entry of {@code jobs} names a strategy, one or more datasets and a list of values per parameter (a single
+ * value may be given without brackets). It expands to one {@link BatchJob} per dataset and combination of values,
+ * named {@code <name>-<dataset file name>-<combination number>}; invalid combinations are skipped. An optional
+ * {@code costs} object sets the entry's commissions and fill model (all fields default to 0, i.e. free fills).
+ *
+ * <pre>{@code
+ * {
+ *   "parallelism": 4,
+ *   "outputDirectory": "data/batch_results",
+ *   "jobs": [
+ *     {
+ *       "name": "ma",
+ *       "strategy": "MOVING_AVERAGE_CROSSOVER",
+ *       "datasets": ["data/sample_market_data.csv"],
+ *       "initialBalance": 5000,
+ *       "parameters": {"shortPeriod": [5, 10, 20], "longPeriod": [50, 100], "riskPerTrade": 0.05,
+ *                      "stopLossPercent": 0.02, "takeProfitPercent": 0.05},
+ *       "costs": {"commissionPerOrder": 1.0, "commissionPerUnit": 0, "minimumCommission": 0, "spreadBps": 2,
+ *                 "impact": 0.1}
+ *     }
+ *   ]
+ * }
+ * }</pre>
+ */
+public class BatchConfig {
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+
+    private int parallelism = Runtime.getRuntime().availableProcessors(); // Jobs run at the same time
+    private String outputDirectory = "data/batch_results"; // Where each job's result files are written
+    private List<JobSpec> jobs = List.of();
+
+    /**
+     * One entry of the job file, expanding to many jobs.
+     */
+    public static class JobSpec {
+        private String name;
+        private BatchJob.StrategyType strategy;
+        private List<String> datasets = List.of();
+        private double initialBalance = 5000.0;
+        private Map<String, List<Double>> parameters = Map.of();
+        private CostSpec costs = new CostSpec();
+
+        public String getName() { return name; }
+        public BatchJob.StrategyType getStrategy() { return strategy; }
+        public List<String> getDatasets() { return datasets; }
+        public double getInitialBalance() { return initialBalance; }
+        public Map<String, List<Double>> getParameters() { return parameters; }
+        public CostSpec getCosts() { return costs; }
+    }
+
+    /**
+     * The trading costs of an entry; see {@link CostModel} and {@link FillModel}.
+     */
+    public static class CostSpec {
+        private double commissionPerOrder;
+        private double commissionPerUnit;
+        private double minimumCommission;
+        private double spreadBps;
+        private double impact;
+
+        public CostModel costModel() {
+            return new CostModel(commissionPerOrder, commissionPerUnit, minimumCommission);
+        }
+
+        public FillModel fillModel() {
+            return new FillModel(spreadBps, impact);
+        }
+    }
+
+    /**
+     * Reads a job file.
+     *
+     * @param filePath The JSON file.
+     * @return The batch it describes.
+     * @throws IOException If the file cannot be read or is not a valid job file.
+     */
+    public static BatchConfig load(Path filePath) throws IOException {
+        return JSON.readValue(filePath.toFile(), BatchConfig.class);
+    }
+
+    /**
+     * Expands every entry into its jobs, grouped by entry and then by dataset.
+     *
+     * @return The jobs, in file order.
+     * @throws IllegalArgumentException If an entry is incomplete, sets an unknown parameter or two jobs share a name.
+     */
+    public List<BatchJob> expand() {
+        List<BatchJob> expanded = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (JobSpec spec : jobs) {
+            if (spec.name == null || spec.strategy == null || spec.datasets.isEmpty()) {
+                throw new IllegalArgumentException("Every job needs a name, a strategy and at least one dataset");
+            }
+            List<String> parameterNames = List.of(spec.strategy.getParameterNames());
+            for (String parameter : spec.parameters.keySet()) {
+                if (!parameterNames.contains(parameter)) {
+                    throw new IllegalArgumentException("Job " + spec.name + ": unknown parameter " + parameter
+                            + " for " + spec.strategy);
+                }
+            }
+            List<Map<String, Double>> combinations = combinations(spec, parameterNames);
+            CostModel costModel = spec.costs.costModel();
+            FillModel fillModel = spec.costs.fillModel();
+            for (String dataset : spec.datasets) {
+                String datasetName = stem(dataset);
+                for (int c = 0; c < combinations.size(); c++) {
+                    String name = fileSafe(spec.name + "-" + datasetName + "-" + (c + 1));
+                    BatchJob job = new BatchJob(name, dataset, spec.strategy, spec.initialBalance, combinations.get(c),
+                            costModel, fillModel);
+                    if (!job.isValid()) {
+                        continue;
+                    }
+                    if (!names.add(name)) {
+                        throw new IllegalArgumentException("Duplicate job name " + name);
+                    }
+                    expanded.add(job);
+                }
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * @return Every combination of the entry's parameter values, the first parameter varying slowest.
+     */
+    private static List<Map<String, Double>> combinations(JobSpec spec, List<String> parameterNames) {
+        List<Map<String, Double>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (String parameter : parameterNames) {
+            List<Double> values = spec.parameters.get(parameter);
+            if (values == null || values.isEmpty()) {
+                throw new IllegalArgumentException("Job " + spec.name + " is missing parameter " + parameter);
+            }
+            List<Map<String, Double>> next = new ArrayList<>(combinations.size() * values.size());
+            for (Map<String, Double> combination : combinations) {
+                for (Double value : values) {
+                    Map<String, Double> extended = new LinkedHashMap<>(combination);
+                    extended.put(parameter, value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    /**
+     * @return The dataset's file name without its extension.
+     */
+    private static String stem(String dataset) {
+        String fileName = Paths.get(dataset).getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    /**
+     * @return The name with every character that is not safe in a file name replaced by '_'.
+     */
+    private static String fileSafe(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
+
+    public int getParallelism() { return parallelism; }
+    public String getOutputDirectory() { return outputDirectory; }
+    public List<JobSpec> getJobs() { return jobs; }
+}
@@ -0,0 +1,106 @@
+package org.example.engine;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One backtest of a batch: a strategy with one set of parameters on one dataset.
+ * Jobs are normally produced by expanding a {@link BatchConfig}.
+ */
+public class BatchJob {
+    /**
+     * The strategies a batch can run, with the parameters each one takes.
+     */
+    public enum StrategyType {
+        /** {@link MovingAverageStrategy}; the periods must be whole numbers, short below long. */
+        MOVING_AVERAGE_CROSSOVER("shortPeriod", "longPeriod", "riskPerTrade", "stopLossPercent", "takeProfitPercent"),
+        /** {@link Strategy}: buys at or below a price threshold. */
+        THRESHOLD("buyThreshold", "sellThreshold", "riskPerTrade", "stopLossPercent", "takeProfitPercent");
+
+        private final String[] parameterNames;
+
+        StrategyType(String... parameterNames) {
+            this.parameterNames = parameterNames;
+        }
+
+        /**
+         * @return The names of the parameters, all of which every job of this type must set.
+         */
+        public String[] getParameterNames() {
+            return parameterNames.clone();
+        }
+    }
+
+    private final String name;
+    private final String dataset; // Path of the CSV file to backtest
+    private final StrategyType strategy;
+    private final double initialBalance;
+    private final Map<String, Double> parameters;
+    private final CostModel costModel;
+    private final FillModel fillModel;
+
+    /**
+     * @param name The job name, unique within its batch; also names the job's result files.
+     * @param dataset The path of the CSV file to backtest.
+     * @param strategy The strategy to run.
+     * @param initialBalance The starting balance.
+     * @param parameters A value for every parameter of the strategy type.
+     * @param costModel The commission charged on every fill.
+     * @param fillModel The spread and slippage applied to every fill.
+     */
+    public BatchJob(String name, String dataset, StrategyType strategy, double initialBalance,
+                    Map<String, Double> parameters, CostModel costModel, FillModel fillModel) {
+        for (String parameter : strategy.parameterNames) {
+            if (!parameters.containsKey(parameter)) {
+                throw new IllegalArgumentException("Job " + name + " is missing parameter " + parameter);
+            }
+        }
+        this.name = name;
+        this.dataset = dataset;
+        this.strategy = strategy;
+        this.initialBalance = initialBalance;
+        this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+    }
+
+    /**
+     * @return A new strategy instance configured with this job's parameters.
+     */
+    public TradingStrategy createStrategy() {
+        return switch (strategy) {
+            case MOVING_AVERAGE_CROSSOVER -> new MovingAverageStrategy(period("shortPeriod"), period("longPeriod"),
+                    initialBalance, parameters.get("riskPerTrade"), parameters.get("stopLossPercent"),
+                    parameters.get("takeProfitPercent"));
+            case THRESHOLD -> new Strategy(parameters.get("buyThreshold"), parameters.get("sellThreshold"),
+                    initialBalance, parameters.get("riskPerTrade"), parameters.get("stopLossPercent"),
+                    parameters.get("takeProfitPercent"));
+        };
+    }
+
+    /**
+     * @return False for parameter sets the strategy cannot run, which batch expansion skips (like a sweep grid).
+     */
+    boolean isValid() {
+        if (strategy == StrategyType.MOVING_AVERAGE_CROSSOVER) {
+            double shortPeriod = parameters.get("shortPeriod");
+            double longPeriod = parameters.get("longPeriod");
+            return shortPeriod >= 1 && shortPeriod == Math.rint(shortPeriod) && longPeriod == Math.rint(longPeriod)
+                    && shortPeriod < longPeriod;
+        }
+        return true;
+    }
+
+    private int period(String parameter) {
+        return (int) Math.round(parameters.get(parameter));
+    }
+
+    public String getName() { return name; }
+    public String getDataset() { return dataset; }
+    public StrategyType getStrategy() { return strategy; }
+    public double getInitialBalance() { return initialBalance; }
+    public Map<String, Double> getParameters() { return parameters; }
+    public CostModel getCostModel() { return costModel; }
+    public FillModel getFillModel() { return fillModel; }
+}
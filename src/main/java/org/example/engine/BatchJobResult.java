@@ -0,0 +1,43 @@
+package org.example.engine;
+
+import org.example.models.PerformanceMetrics;
+
+/**
+ * The outcome of one {@link BatchJob}: its metrics if it completed, or the reason it failed.
+ */
+public class BatchJobResult {
+    private final BatchJob job;
+    private final PerformanceMetrics metrics; // null if the job failed
+    private final String error; // null if the job completed
+    private final int bars; // Bars backtested
+    private final long elapsedMillis;
+
+    private BatchJobResult(BatchJob job, PerformanceMetrics metrics, String error, int bars, long elapsedMillis) {
+        this.job = job;
+        this.metrics = metrics;
+        this.error = error;
+        this.bars = bars;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    static BatchJobResult completed(BatchJob job, PerformanceMetrics metrics, int bars, long elapsedMillis) {
+        return new BatchJobResult(job, metrics, null, bars, elapsedMillis);
+    }
+
+    static BatchJobResult failed(BatchJob job, String error, long elapsedMillis) {
+        return new BatchJobResult(job, null, error, 0, elapsedMillis);
+    }
+
+    public BatchJob getJob() { return job; }
+    public PerformanceMetrics getMetrics() { return metrics; }
+    public String getError() { return error; }
+    public int getBars() { return bars; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /**
+     * @return True if the job completed.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
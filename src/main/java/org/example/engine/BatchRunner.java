@@ -0,0 +1,177 @@
+package org.example.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.example.models.BacktestResult;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.utils.BarCache;
+import org.example.utils.TradeCsvWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of independent backtests in one JVM.
+ *
+ * Jobs run on a fork-join pool of a fixed size. Each dataset is loaded once, by the first job that needs it, and
+ * shared read-only by every other job on it; it is dropped again when its last job finishes, so a batch over many
+ * files only holds the datasets in use. Every job writes its own results: {@code <job>.json} with the job's
+ * parameters and metrics (or its error), and {@code <job>_trades.csv} with its trades. A job that fails (unreadable
+ * data, an exception in the strategy, a file that cannot be written) is recorded as failed and the batch carries on.
+ */
+public class BatchRunner {
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final int parallelism;
+    private final Path outputDirectory;
+
+    /**
+     * @param config The batch settings (parallelism and output directory).
+     */
+    public BatchRunner(BatchConfig config) {
+        this(config.getParallelism(), Paths.get(config.getOutputDirectory()));
+    }
+
+    /**
+     * @param parallelism The number of jobs run at the same time.
+     * @param outputDirectory The directory the result files are written to; created if missing.
+     */
+    public BatchRunner(int parallelism, Path outputDirectory) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Runs every job and writes its result files.
+     *
+     * @param jobs The jobs; jobs on the same dataset should be adjacent so it is held in memory for a short time.
+     * @return One result per job, in job order.
+     */
+    public List<BatchJobResult> run(List<BatchJob> jobs) {
+        Map<String, SharedDataset> datasets = new HashMap<>();
+        for (BatchJob job : jobs) {
+            datasets.computeIfAbsent(job.getDataset(), SharedDataset::new).pendingJobs.incrementAndGet();
+        }
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            System.err.println("Error creating batch output directory: " + e.getMessage());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> jobs.parallelStream()
+                    .map(job -> runJob(job, datasets.get(job.getDataset())))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch run failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private BatchJobResult runJob(BatchJob job, SharedDataset dataset) {
+        long start = System.nanoTime();
+        BatchJobResult result;
+        try {
+            PriceSeries marketData = dataset.acquire();
+            if (marketData.size() == 0) {
+                throw new IOException("No bars loaded from " + job.getDataset());
+            }
+            BacktestEngine engine = new BacktestEngine(job.getInitialBalance());
+            engine.setTradingCosts(job.getCostModel(), job.getFillModel());
+            BacktestResult backtest = engine.run(job.createStrategy(), marketData);
+            try (TradeCsvWriter writer = new TradeCsvWriter(outputDirectory.resolve(job.getName() + "_trades.csv"))) {
+                writer.writeAll(backtest.getTradeHistory());
+            }
+            result = BatchJobResult.completed(job, backtest.getMetrics(), marketData.size(), elapsedMillis(start));
+        } catch (Exception e) {
+            result = BatchJobResult.failed(job, e.getMessage() != null ? e.getMessage() : e.toString(),
+                    elapsedMillis(start));
+        } finally {
+            dataset.release();
+        }
+
+        try {
+            JSON.writeValue(outputDirectory.resolve(job.getName() + ".json").toFile(), result);
+        } catch (IOException e) {
+            System.err.println("Error writing batch result for " + job.getName() + ": " + e.getMessage());
+        }
+        return result;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Prints the number of completed and failed jobs, the failures, and the best completed jobs by total return.
+     *
+     * @param results The results of a batch.
+     * @param limit The number of completed jobs to list.
+     */
+    public static void printSummary(List<BatchJobResult> results, int limit) {
+        long failed = results.stream().filter(result -> !result.isSuccess()).count();
+        System.out.printf("%d jobs completed, %d failed%n", results.size() - failed, failed);
+        for (BatchJobResult result : results) {
+            if (!result.isSuccess()) {
+                System.out.println("FAILED " + result.getJob().getName() + ": " + result.getError());
+            }
+        }
+
+        System.out.printf("%-48s | %8s | %8s | %7s | %7s | %6s%n", "Job", "Return%", "MaxDD%", "Sharpe", "Trades", "ms");
+        results.stream()
+                .filter(BatchJobResult::isSuccess)
+                .sorted((a, b) -> Double.compare(b.getMetrics().getTotalReturn(), a.getMetrics().getTotalReturn()))
+                .limit(limit)
+                .forEach(result -> {
+                    PerformanceMetrics metrics = result.getMetrics();
+                    System.out.printf("%-48s | %8.2f | %8.2f | %7.2f | %7d | %6d%n", result.getJob().getName(),
+                            metrics.getTotalReturn(), metrics.getMaxDrawdown() * 100, metrics.getSharpeRatio(),
+                            metrics.getTotalTrades(), result.getElapsedMillis());
+                });
+    }
+
+    /**
+     * A dataset shared by the jobs of a batch, loaded on first use and released after its last job.
+     */
+    private static final class SharedDataset {
+        private final String path;
+        private final AtomicInteger pendingJobs = new AtomicInteger(); // Jobs that have not finished with it
+        private PriceSeries series;
+
+        SharedDataset(String path) {
+            this.path = path;
+        }
+
+        synchronized PriceSeries acquire() {
+            if (series == null) {
+                series = BarCache.load(path);
+            }
+            return series;
+        }
+
+        void release() {
+            if (pendingJobs.decrementAndGet() == 0) {
+                synchronized (this) {
+                    series = null;
+                }
+            }
+        }
+    }
+}
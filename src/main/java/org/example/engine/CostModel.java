@@ -0,0 +1,81 @@
+package org.example.engine;
+
+/**
+ * Commission charged on every fill: a fixed amount per order plus an amount per unit traded, with an optional
+ * minimum per order. {@link #NONE} (the default of every run) charges nothing.
+ *
+ * The class is final and holds only primitives, so the {@link Portfolio} calls into it are statically bound and
+ * inlined by the JIT: a run pays a few multiply-adds per fill for costs, and no virtual dispatch, whichever
+ * model each run of a sweep uses.
+ */
+public final class CostModel {
+    /** No commissions. */
+    public static final CostModel NONE = new CostModel(0, 0, 0);
+
+    private final double perOrder; // Charged once per fill
+    private final double perUnit; // Charged per unit (share) filled
+    private final double minimum; // Lowest commission of a fill
+
+    /**
+     * @param perOrder The fixed commission per fill.
+     * @param perUnit The commission per unit filled.
+     * @param minimum The minimum commission per fill.
+     */
+    public CostModel(double perOrder, double perUnit, double minimum) {
+        if (perOrder < 0 || perUnit < 0 || minimum < 0) {
+            throw new IllegalArgumentException("Commissions must not be negative");
+        }
+        this.perOrder = perOrder;
+        this.perUnit = perUnit;
+        this.minimum = minimum;
+    }
+
+    /**
+     * @param perOrder The commission per fill, regardless of its size.
+     * @return A fixed-commission model.
+     */
+    public static CostModel fixed(double perOrder) {
+        return new CostModel(perOrder, 0, 0);
+    }
+
+    /**
+     * @param perUnit The commission per unit filled.
+     * @param minimum The minimum commission per fill.
+     * @return A per-share commission model.
+     */
+    public static CostModel perShare(double perUnit, double minimum) {
+        return new CostModel(0, perUnit, minimum);
+    }
+
+    /**
+     * @param units The units filled.
+     * @return The commission of the fill.
+     */
+    public double commission(double units) {
+        return Math.max(minimum, perOrder + perUnit * units);
+    }
+
+    /**
+     * Sizes a purchase so that its cost including commission is exactly the cash given.
+     *
+     * @param cash The cash to spend.
+     * @param price The fill price per unit.
+     * @return The units to buy (0 if the cash does not cover the commission).
+     */
+    public double unitsFor(double cash, double price) {
+        double units = (cash - perOrder) / (price + perUnit);
+        if (perOrder + perUnit * units < minimum) {
+            units = (cash - minimum) / price; // The minimum applies instead
+        }
+        return Math.max(0, units);
+    }
+
+    public double getPerOrder() { return perOrder; }
+    public double getPerUnit() { return perUnit; }
+    public double getMinimum() { return minimum; }
+
+    @Override
+    public String toString() {
+        return "CostModel[perOrder=" + perOrder + ",perUnit=" + perUnit + ",minimum=" + minimum + "]";
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.engine;
+
+import org.example.models.EquityCurve;
+
+import java.util.Arrays;
+
+/**
+ * Online statistics over the equity curve of one run, updated once per bar in O(1) with no allocation.
+ *
+ * Per-bar returns feed Welford accumulators for their mean and variance (and a running sum of squared negative
+ * returns for the downside deviation), while the peak, the deepest drawdown and the longest time under water are
+ * tracked as the curve grows. A sweep of thousands of runs therefore gets exact risk metrics without keeping any
+ * run's equity series; the curve itself is only stored, in primitive arrays, when recording is switched on.
+ *
+ * Ratios are annualised with the number of bars per year observed between the first and last timestamps, so
+ * daily, hourly and minute data are all scaled by their own sampling rate.
+ */
+final class EquityTracker {
+    private static final double MILLIS_PER_YEAR = 365.25 * 86_400_000L;
+    private static final double DEFAULT_PERIODS_PER_YEAR = 252; // Used when the bars carry no usable timestamps
+
+    private final double initialEquity;
+    private long[] curveTimestamps; // null unless the curve is recorded
+    private double[] curveEquity;
+
+    private int points = 0; // Bars marked so far
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double lastEquity;
+    private int exposedPoints = 0; // Bars that ended with a position open
+
+    private double meanReturn = 0; // Welford mean of the per-bar returns
+    private double m2 = 0; // Welford sum of squared deviations from meanReturn
+    private double downsideSquares = 0; // Sum of squared negative returns
+
+    private double peak; // Highest equity so far
+    private int peakPoint = -1; // Point at which the peak was reached (-1 for the initial equity)
+    private double maxDrawdown = 0; // Deepest decline from the peak, as a fraction
+    private int maxDrawdownDuration = 0; // Longest run of bars below the peak
+
+    // State before the latest point, so that point can be replaced by replaceLast()
+    private long previousTimestamp;
+    private double previousEquity;
+    private int previousExposedPoints;
+    private double previousMeanReturn;
+    private double previousM2;
+    private double previousDownsideSquares;
+    private double previousPeak;
+    private int previousPeakPoint;
+    private double previousMaxDrawdown;
+    private int previousMaxDrawdownDuration;
+
+    /**
+     * @param initialEquity The equity before the first bar.
+     */
+    EquityTracker(double initialEquity) {
+        this.initialEquity = initialEquity;
+        this.lastEquity = initialEquity;
+        this.peak = initialEquity;
+    }
+
+    /**
+     * Starts storing every point of the curve. Must be called before the first bar.
+     */
+    void recordCurve() {
+        curveTimestamps = new long[1024];
+        curveEquity = new double[1024];
+    }
+
+    /**
+     * Adds the equity at the close of a bar.
+     *
+     * @param timestamp The bar's timestamp.
+     * @param equity Cash plus the value of open positions.
+     * @param exposed True if a position is open.
+     */
+    void mark(long timestamp, double equity, boolean exposed) {
+        if (points == 0) {
+            firstTimestamp = timestamp;
+        }
+        if (curveEquity != null) {
+            if (points == curveEquity.length) {
+                curveTimestamps = Arrays.copyOf(curveTimestamps, points * 2);
+                curveEquity = Arrays.copyOf(curveEquity, points * 2);
+            }
+            curveTimestamps[points] = timestamp;
+            curveEquity[points] = equity;
+        }
+        previousTimestamp = lastTimestamp;
+        previousEquity = lastEquity;
+        previousExposedPoints = exposedPoints;
+        previousMeanReturn = meanReturn;
+        previousM2 = m2;
+        previousDownsideSquares = downsideSquares;
+        previousPeak = peak;
+        previousPeakPoint = peakPoint;
+        previousMaxDrawdown = maxDrawdown;
+        previousMaxDrawdownDuration = maxDrawdownDuration;
+
+        double r = lastEquity > 0 ? equity / lastEquity - 1 : 0;
+        double delta = r - meanReturn;
+        meanReturn += delta / (points + 1);
+        m2 += delta * (r - meanReturn);
+        if (r < 0) {
+            downsideSquares += r * r;
+        }
+
+        if (equity >= peak) {
+            peak = equity;
+            peakPoint = points;
+        } else {
+            maxDrawdown = Math.max(maxDrawdown, (peak - equity) / peak);
+            maxDrawdownDuration = Math.max(maxDrawdownDuration, points - peakPoint);
+        }
+        if (exposed) {
+            exposedPoints++;
+        }
+
+        lastTimestamp = timestamp;
+        lastEquity = equity;
+        points++;
+    }
+
+    /**
+     * Replaces the equity of the latest point, as if it had been marked with the new value in the first place.
+     * Used when fills happen after a bar was marked. Does nothing before the first point.
+     *
+     * @param equity Cash plus the value of open positions.
+     * @param exposed True if a position is open.
+     */
+    void replaceLast(double equity, boolean exposed) {
+        if (points == 0) {
+            return;
+        }
+        long timestamp = lastTimestamp;
+        lastTimestamp = previousTimestamp;
+        lastEquity = previousEquity;
+        exposedPoints = previousExposedPoints;
+        meanReturn = previousMeanReturn;
+        m2 = previousM2;
+        downsideSquares = previousDownsideSquares;
+        peak = previousPeak;
+        peakPoint = previousPeakPoint;
+        maxDrawdown = previousMaxDrawdown;
+        maxDrawdownDuration = previousMaxDrawdownDuration;
+        points--;
+        mark(timestamp, equity, exposed);
+    }
+
+    /**
+     * @return The bars per year implied by the timestamps, or 252 if they span no time.
+     */
+    double periodsPerYear() {
+        long span = lastTimestamp - firstTimestamp;
+        return points > 1 && span > 0 ? (points - 1) / (span / MILLIS_PER_YEAR) : DEFAULT_PERIODS_PER_YEAR;
+    }
+
+    /**
+     * @return The compound annual growth rate of the equity, as a fraction.
+     */
+    double annualizedReturn() {
+        if (points == 0 || initialEquity <= 0 || lastEquity <= 0) {
+            return 0;
+        }
+        double years = points / periodsPerYear();
+        return Math.pow(lastEquity / initialEquity, 1 / years) - 1;
+    }
+
+    /**
+     * @return The annualised standard deviation of the per-bar returns.
+     */
+    double annualizedVolatility() {
+        return points > 1 ? Math.sqrt(m2 / (points - 1) * periodsPerYear()) : 0;
+    }
+
+    /**
+     * @return The annualised Sharpe ratio of the per-bar returns (zero risk-free rate), or 0 if they never vary.
+     */
+    double sharpeRatio() {
+        double volatility = annualizedVolatility();
+        return volatility > 0 ? meanReturn * periodsPerYear() / volatility : 0;
+    }
+
+    /**
+     * @return The annualised Sortino ratio (zero target), or 0 if no bar lost money.
+     */
+    double sortinoRatio() {
+        double downside = points > 0 ? Math.sqrt(downsideSquares / points * periodsPerYear()) : 0;
+        return downside > 0 ? meanReturn * periodsPerYear() / downside : 0;
+    }
+
+    /**
+     * @return The annualised return divided by the maximum drawdown, or 0 without a drawdown.
+     */
+    double calmarRatio() {
+        return maxDrawdown > 0 ? annualizedReturn() / maxDrawdown : 0;
+    }
+
+    double maxDrawdown() { return maxDrawdown; }
+    int maxDrawdownDuration() { return maxDrawdownDuration; }
+
+    /**
+     * @return The fraction of bars that ended with a position open.
+     */
+    double exposure() {
+        return points > 0 ? (double) exposedPoints / points : 0;
+    }
+
+    /**
+     * @return The recorded curve trimmed to its length, or null if recording was not switched on.
+     */
+    EquityCurve curve() {
+        if (curveEquity == null) {
+            return null;
+        }
+        return new EquityCurve(Arrays.copyOf(curveTimestamps, points), Arrays.copyOf(curveEquity, points));
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.engine;
+
+/**
+ * The price a market order actually fills at, relative to the reference price (a bar's close, or the level of
+ * a stop-loss or take-profit). Buys pay and sells give up half the quoted bid-ask spread plus a market-impact
+ * slippage proportional to the order's share of the bar's volume:
+ *
+ * <pre>{@code fill = price * (1 ± (spreadBps / 2 / 10_000 + impact * units / barVolume))}</pre>
+ *
+ * Bars without volume are charged the spread only. {@link #IDEAL} (the default of every run) fills at the
+ * reference price. Like {@link CostModel}, the class is final so its calls from the {@link Portfolio} inline.
+ */
+public final class FillModel {
+    /** Fills at the reference price. */
+    public static final FillModel IDEAL = new FillModel(0, 0);
+
+    private final double spreadBps; // Quoted bid-ask spread in basis points of the price
+    private final double impact; // Relative price move per unit of volume participation
+    private final double halfSpread; // Half the spread, as a fraction of the price
+
+    /**
+     * @param spreadBps The bid-ask spread in basis points; each fill pays half of it.
+     * @param impact The slippage per unit of volume participation, e.g. 0.1 moves the price 1% for an order of
+     *               10% of the bar's volume.
+     */
+    public FillModel(double spreadBps, double impact) {
+        if (spreadBps < 0 || impact < 0) {
+            throw new IllegalArgumentException("Spread and impact must not be negative");
+        }
+        this.spreadBps = spreadBps;
+        this.impact = impact;
+        this.halfSpread = spreadBps / 2 / 10_000;
+    }
+
+    /**
+     * @param spreadBps The bid-ask spread in basis points.
+     * @return A model charging only the spread.
+     */
+    public static FillModel spread(double spreadBps) {
+        return new FillModel(spreadBps, 0);
+    }
+
+    /**
+     * @param price The reference price.
+     * @param units The units bought.
+     * @param barVolume The volume of the bar the order fills on (0 if unknown).
+     * @return The price paid per unit.
+     */
+    public double buyPrice(double price, double units, double barVolume) {
+        return price * (1 + slippage(units, barVolume));
+    }
+
+    /**
+     * @param price The reference price.
+     * @param units The units sold.
+     * @param barVolume The volume of the bar the order fills on (0 if unknown).
+     * @return The price received per unit.
+     */
+    public double sellPrice(double price, double units, double barVolume) {
+        return price * (1 - slippage(units, barVolume));
+    }
+
+    private double slippage(double units, double barVolume) {
+        return barVolume > 0 ? halfSpread + impact * units / barVolume : halfSpread;
+    }
+
+    public double getSpreadBps() { return spreadBps; }
+    public double getImpact() { return impact; }
+
+    @Override
+    public String toString() {
+        return "FillModel[spreadBps=" + spreadBps + ",impact=" + impact + "]";
+    }
+}
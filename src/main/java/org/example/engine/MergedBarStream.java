@@ -0,0 +1,115 @@
+package org.example.engine;
+
+import org.example.models.PriceSeries;
+
+/**
+ * Merges the bars of several series into one timestamp-ordered stream with a k-way heap merge.
+ *
+ * The heap holds one cursor per symbol in primitive arrays, so each step costs O(log k) and the
+ * joined dataset is never materialised. Bars with equal timestamps are returned in symbol id order.
+ */
+public final class MergedBarStream {
+    private final PriceSeries[] series; // Series by symbol id
+    private final int[] cursor; // Index of the next unread bar of each symbol
+    private final int[] lastIndex; // Index of the bar most recently returned for each symbol
+    private final int[] heap; // Symbol ids ordered by the timestamp of their next bar
+    private int heapSize = 0;
+
+    /**
+     * @param series The series to merge, indexed by symbol id. Each must be in chronological order.
+     */
+    public MergedBarStream(PriceSeries[] series) {
+        this.series = series;
+        this.cursor = new int[series.length];
+        this.lastIndex = new int[series.length];
+        this.heap = new int[series.length];
+        for (int id = 0; id < series.length; id++) {
+            lastIndex[id] = -1;
+            if (!series[id].isEmpty()) {
+                heap[heapSize] = id;
+                siftUp(heapSize++);
+            }
+        }
+    }
+
+    public boolean hasNext() {
+        return heapSize > 0;
+    }
+
+    /**
+     * Advances to the next bar in time order.
+     *
+     * @return The symbol id the bar belongs to; its index is then available from {@link #index(int)}.
+     */
+    public int next() {
+        int id = heap[0];
+        lastIndex[id] = cursor[id]++;
+        if (cursor[id] < series[id].size()) {
+            siftDown(0); // The symbol stays in the heap keyed on its next bar
+        } else {
+            heap[0] = heap[--heapSize];
+            if (heapSize > 0) {
+                siftDown(0);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * @return The timestamp of the bar the next call to {@link #next()} returns (only valid while {@link #hasNext()}).
+     */
+    public long peekTimestamp() {
+        int id = heap[0];
+        return series[id].getTimestamp(cursor[id]);
+    }
+
+    /**
+     * @return The index of the bar most recently returned for a symbol, or -1 if none has been.
+     */
+    public int index(int symbolId) {
+        return lastIndex[symbolId];
+    }
+
+    /**
+     * @return True if the bar most recently returned for a symbol was its last one.
+     */
+    public boolean isExhausted(int symbolId) {
+        return cursor[symbolId] == series[symbolId].size();
+    }
+
+    private boolean before(int a, int b) {
+        long ta = series[a].getTimestamp(cursor[a]);
+        long tb = series[b].getTimestamp(cursor[b]);
+        return ta < tb || (ta == tb && a < b);
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(id, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = id;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        int half = heapSize >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], id)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = id;
+    }
+}
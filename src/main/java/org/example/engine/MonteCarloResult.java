@@ -0,0 +1,95 @@
+package org.example.engine;
+
+import java.util.Arrays;
+
+/**
+ * The outcome distributions of a {@link MonteCarloSimulation}: the final balance and maximum drawdown of every
+ * simulated history, held sorted in primitive arrays so any percentile is a lookup.
+ */
+public class MonteCarloResult {
+    private static final double[] SUMMARY_PERCENTILES = {5, 25, 50, 75, 95};
+
+    private final MonteCarloSimulation.Resampling resampling;
+    private final double initialBalance;
+    private final int tradeCount; // Trades per simulated history
+    private final double[] finalBalances; // Sorted ascending
+    private final double[] maxDrawdowns; // Sorted ascending, as fractions
+
+    /**
+     * @param finalBalances The final balance of each history; sorted in place.
+     * @param maxDrawdowns The maximum drawdown of each history, as a fraction; sorted in place.
+     */
+    MonteCarloResult(MonteCarloSimulation.Resampling resampling, double initialBalance, int tradeCount,
+                     double[] finalBalances, double[] maxDrawdowns) {
+        Arrays.sort(finalBalances);
+        Arrays.sort(maxDrawdowns);
+        this.resampling = resampling;
+        this.initialBalance = initialBalance;
+        this.tradeCount = tradeCount;
+        this.finalBalances = finalBalances;
+        this.maxDrawdowns = maxDrawdowns;
+    }
+
+    /**
+     * @param percentile The percentile, from 0 to 100.
+     * @return The final balance at that percentile, interpolated between the nearest simulated values.
+     */
+    public double finalBalancePercentile(double percentile) {
+        return percentile(finalBalances, percentile);
+    }
+
+    /**
+     * @param percentile The percentile, from 0 to 100.
+     * @return The maximum drawdown (as a fraction) at that percentile, interpolated between the nearest simulated values.
+     */
+    public double maxDrawdownPercentile(double percentile) {
+        return percentile(maxDrawdowns, percentile);
+    }
+
+    /**
+     * @return The fraction of histories that ended below the initial balance.
+     */
+    public double probabilityOfLoss() {
+        int index = Arrays.binarySearch(finalBalances, initialBalance);
+        if (index < 0) {
+            return (double) (-index - 1) / finalBalances.length;
+        }
+        while (index > 0 && finalBalances[index - 1] == initialBalance) {
+            index--; // Histories ending exactly at the initial balance are not losses
+        }
+        return (double) index / finalBalances.length;
+    }
+
+    public MonteCarloSimulation.Resampling getResampling() { return resampling; }
+    public double getInitialBalance() { return initialBalance; }
+    public int getTradeCount() { return tradeCount; }
+    public int getIterations() { return finalBalances.length; }
+
+    /** @return The final balances of all histories, sorted ascending (the backing array, not a copy). */
+    public double[] finalBalanceArray() { return finalBalances; }
+
+    /** @return The maximum drawdowns of all histories, sorted ascending (the backing array, not a copy). */
+    public double[] maxDrawdownArray() { return maxDrawdowns; }
+
+    /**
+     * Prints the 5th to 95th percentiles of both distributions.
+     */
+    public void print() {
+        System.out.printf("--- Monte Carlo (%s, %d histories of %d trades) ---%n", resampling, getIterations(), tradeCount);
+        System.out.printf("%-10s | %13s | %12s%n", "Percentile", "Final Balance", "Max DD%");
+        for (double p : SUMMARY_PERCENTILES) {
+            System.out.printf("%-10.0f | %13.2f | %12.2f%n", p, finalBalancePercentile(p), maxDrawdownPercentile(p) * 100);
+        }
+        System.out.printf("Probability of loss: %.2f%%%n", probabilityOfLoss() * 100);
+    }
+
+    private static double percentile(double[] sorted, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        double position = percentile / 100 * (sorted.length - 1);
+        int below = (int) position;
+        int above = Math.min(below + 1, sorted.length - 1);
+        return sorted[below] + (position - below) * (sorted[above] - sorted[below]);
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.engine;
+
+import org.example.models.Trade;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo robustness test of a trade history.
+ *
+ * The closed trades are reduced to a primitive array of returns (each trade's profit as a fraction of the balance
+ * it was taken from), and many alternative histories are generated from them by reordering or resampling.
+ * Each history is compounded from the initial balance to get its final balance and maximum drawdown, giving
+ * distributions of both instead of the single values of the one history that actually happened. Drawdowns are
+ * measured between trade exits, so they are lower bounds on the bar-by-bar drawdown of the backtest itself.
+ *
+ * Iterations are split into fixed-size tasks that run on a fork-join pool. Every task draws from its own
+ * {@link SplittableRandom}, split from the seed in task order, so results depend only on the seed and never on
+ * the thread count or scheduling. A task allocates one scratch array up front; iterations allocate nothing.
+ */
+public class MonteCarloSimulation {
+    /**
+     * How each simulated history is drawn from the actual trade returns.
+     */
+    public enum Resampling {
+        /** A random reordering of all trades: the final balance is unchanged, only the path (and drawdown) differs. */
+        SHUFFLE,
+        /** Trades drawn independently with replacement. */
+        BOOTSTRAP,
+        /** Runs of consecutive trades drawn with replacement (wrapping around), keeping streaks of wins and losses. */
+        BLOCK_BOOTSTRAP
+    }
+
+    private static final int ITERATIONS_PER_TASK = 1024;
+
+    private final Resampling resampling;
+    private final int iterations;
+    private final long seed;
+    private final int blockLength; // Trades per block for BLOCK_BOOTSTRAP, or 0 for the cube root of the trade count
+    private final int parallelism;
+
+    /**
+     * Creates a simulation that uses all available cores and, for block bootstraps, blocks of about the cube root
+     * of the trade count.
+     *
+     * @param resampling How histories are drawn.
+     * @param iterations The number of simulated histories.
+     * @param seed The random seed; equal seeds give equal results.
+     */
+    public MonteCarloSimulation(Resampling resampling, int iterations, long seed) {
+        this(resampling, iterations, seed, 0, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param resampling How histories are drawn.
+     * @param iterations The number of simulated histories.
+     * @param seed The random seed; equal seeds give equal results.
+     * @param blockLength The trades per block of a block bootstrap, or 0 to use the cube root of the trade count.
+     * @param parallelism The number of worker threads.
+     */
+    public MonteCarloSimulation(Resampling resampling, int iterations, long seed, int blockLength, int parallelism) {
+        if (iterations <= 0 || blockLength < 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Iterations and parallelism must be positive, block length non-negative");
+        }
+        this.resampling = resampling;
+        this.iterations = iterations;
+        this.seed = seed;
+        this.blockLength = blockLength;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Extracts the return of every closed trade (every trade except "BUY"): its profit as a fraction of the
+     * balance before the exit plus the capital it tied up, i.e. of the account when the trade was opened.
+     *
+     * @param trades A trade history, in execution order.
+     * @return One return per closed trade, in order.
+     */
+    public static double[] tradeReturns(List<Trade> trades) {
+        int closed = 0;
+        for (Trade trade : trades) {
+            if (!trade.getType().equals("BUY")) closed++;
+        }
+        double[] returns = new double[closed];
+        int i = 0;
+        for (Trade trade : trades) {
+            if (!trade.getType().equals("BUY")) {
+                double before = trade.getBalanceAfterTrade() - trade.getProfit();
+                returns[i++] = before > 0 ? trade.getProfit() / before : 0;
+            }
+        }
+        return returns;
+    }
+
+    /**
+     * Simulates alternative versions of a trade history.
+     *
+     * @param initialBalance The balance each simulated history starts from.
+     * @param trades The trade history.
+     * @return The distributions of final balance and maximum drawdown.
+     */
+    public MonteCarloResult run(double initialBalance, List<Trade> trades) {
+        return run(initialBalance, tradeReturns(trades));
+    }
+
+    /**
+     * Simulates alternative sequences of trade returns.
+     *
+     * @param initialBalance The balance each simulated history starts from.
+     * @param returns The per-trade returns, as fractions (see {@link #tradeReturns(List)}). Not modified.
+     * @return The distributions of final balance and maximum drawdown.
+     */
+    public MonteCarloResult run(double initialBalance, double[] returns) {
+        double[] finalBalances = new double[iterations];
+        double[] maxDrawdowns = new double[iterations];
+        int tasks = (iterations + ITERATIONS_PER_TASK - 1) / ITERATIONS_PER_TASK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] random = new SplittableRandom[tasks];
+        for (int t = 0; t < tasks; t++) {
+            random[t] = root.split(); // Split in task order, so each task's stream is fixed by the seed alone
+        }
+        int block = blockLength > 0 ? blockLength : Math.max(1, (int) Math.round(Math.cbrt(returns.length)));
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(t -> {
+                int from = t * ITERATIONS_PER_TASK;
+                int to = Math.min(iterations, from + ITERATIONS_PER_TASK);
+                simulate(returns, initialBalance, block, random[t], from, to, finalBalances, maxDrawdowns);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Monte Carlo simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Monte Carlo simulation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return new MonteCarloResult(resampling, initialBalance, returns.length, finalBalances, maxDrawdowns);
+    }
+
+    /**
+     * Runs iterations {@code [from, to)} of one task, writing each history's outcome at its iteration index.
+     */
+    private void simulate(double[] returns, double initialBalance, int block, SplittableRandom random, int from, int to,
+                          double[] finalBalances, double[] maxDrawdowns) {
+        double[] path = returns.clone(); // The task's scratch history, reused by every iteration
+        for (int it = from; it < to; it++) {
+            switch (resampling) {
+                case SHUFFLE -> shuffle(path, random);
+                case BOOTSTRAP -> bootstrap(returns, path, random);
+                case BLOCK_BOOTSTRAP -> blockBootstrap(returns, path, block, random);
+            }
+            compound(path, initialBalance, it, finalBalances, maxDrawdowns);
+        }
+    }
+
+    /**
+     * Fisher-Yates shuffle in place; shuffling the previous permutation again is still a uniform permutation.
+     */
+    private static void shuffle(double[] path, SplittableRandom random) {
+        for (int i = path.length - 1; i > 0; i--) {
+            int j = nextIndex(random, i + 1);
+            double swap = path[i];
+            path[i] = path[j];
+            path[j] = swap;
+        }
+    }
+
+    private static void bootstrap(double[] returns, double[] path, SplittableRandom random) {
+        int n = returns.length;
+        for (int i = 0; i < n; i++) {
+            path[i] = returns[nextIndex(random, n)];
+        }
+    }
+
+    private static void blockBootstrap(double[] returns, double[] path, int block, SplittableRandom random) {
+        int n = returns.length;
+        for (int i = 0; i < n; ) {
+            int at = nextIndex(random, n);
+            for (int end = Math.min(n, i + block); i < end; i++) {
+                path[i] = returns[at];
+                if (++at == n) at = 0; // Blocks wrap around the end of the history
+            }
+        }
+    }
+
+    /**
+     * Compounds a history from the initial balance and stores its final balance and maximum drawdown.
+     * Branch-free: new peaks arrive at random in a resampled path, so branches on them would mispredict.
+     */
+    private static void compound(double[] path, double initialBalance, int it, double[] finalBalances,
+                                 double[] maxDrawdowns) {
+        double balance = initialBalance;
+        double peak = initialBalance;
+        double floor = 1; // Lowest balance / peak ratio so far
+        for (double r : path) {
+            balance *= 1 + r;
+            peak = Math.max(peak, balance);
+            floor = Math.min(floor, balance / peak);
+        }
+        finalBalances[it] = balance;
+        maxDrawdowns[it] = 1 - floor;
+    }
+
+    /**
+     * Returns a uniform index in {@code [0, bound)} with Lemire's multiply-shift method, which needs a division
+     * only in the rare rejection case ({@link SplittableRandom#nextInt(int)} divides on every call).
+     */
+    static int nextIndex(SplittableRandom random, int bound) {
+        long product = Integer.toUnsignedLong(random.nextInt()) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (1L << 32) % bound;
+            while (low < threshold) {
+                product = Integer.toUnsignedLong(random.nextInt()) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+}
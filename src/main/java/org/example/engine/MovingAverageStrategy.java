@@ -1,155 +1,223 @@
 package org.example.engine;
 
+import org.example.indicators.SimpleMovingAverage;
+import org.example.listeners.TradeListener;
+import org.example.models.BacktestResult;
 import org.example.models.MarketDataPoint;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
 import org.example.models.Trade;
-import java.util.ArrayList;
+import org.example.utils.BarStream;
+import org.example.utils.ResultCache;
 import java.util.List;
 
 /*
 * Implements a Moving Average Crossover Strategy
 * */
-public class MovingAverageStrategy {
+public class MovingAverageStrategy implements TradingStrategy {
 
     private final int shortPeriod;
     private final int longPeriod;
     private final double riskPerTrade;
     private final double stopLossPercent;
     private final double takeProfitPercent;
-
-    private boolean hasPosition = false;
-    private double buyPrice = 0;
-    private double positionSize = 0;
-    private final List<Trade> tradeHistory = new ArrayList<>();
-    private double balance;
-    private double initialBalance;
+    private final double initialBalance;
+    private TradeListener tradeListener = TradeListener.NONE; // Receives trades and the run summary
+    private ResultCache resultCache; // Serves repeated runs on identical data, or null
+    private CostModel costModel = CostModel.NONE;
+    private FillModel fillModel = FillModel.IDEAL;
+
+    // Indicator state, either updated per bar or read from arrays shared with other runs
+    private SimpleMovingAverage shortSMA;
+    private SimpleMovingAverage longSMA;
+    private double[] sharedShortSMA;
+    private double[] sharedLongSMA;
+    private int sharedOffset; // Index in the shared arrays of the first bar being traded
+    private double prevShortMA;
+    private double prevLongMA;
+
+    private BacktestResult lastResult;
 
     public MovingAverageStrategy(int shortPeriod, int longPeriod, double initialBalance,
                                  double riskPerTrade, double stopLossPercent, double takeProfitPercent) {
         this.shortPeriod = shortPeriod;
         this.longPeriod = longPeriod;
         this.initialBalance = initialBalance;
-        this.balance = initialBalance;
         this.riskPerTrade = riskPerTrade;
         this.stopLossPercent = stopLossPercent;
         this.takeProfitPercent = takeProfitPercent;
     }
 
-    private double totalWins = 0;
-    private double totalLosses = 0;
-    private double maxDrawdown = 0;
-    private double peakBalance;
-    private double cumulativeReturn = 0;
-    private int totalTrades = 0;
-
     public void run(List<MarketDataPoint> marketData) {
-        List<Double> shortSMA = calculateSMA(marketData, shortPeriod);
-        List<Double> longSMA = calculateSMA(marketData, longPeriod);
-
-
-        for(int i = longPeriod; i < marketData.size(); i++) {
-            double price = marketData.get(i).getClosePrice();
-            String date = marketData.get(i).getDate();
-            double shortMA = shortSMA.get(i);
-            double longMA = longSMA.get(i);
-
-            if (!hasPosition && shortSMA.get(i-1) < longSMA.get(i-1) && shortMA > longMA) {
-                double capitalToInvest = balance * riskPerTrade;
-                positionSize = capitalToInvest / price;
-
-                if (positionSize > 0 && capitalToInvest <= balance) {
-                    buyPrice = price;
-                    hasPosition = true;
-                    balance -= capitalToInvest;
-                    double stopLossPrice = buyPrice * (1 - stopLossPercent);
-                    double takeProfitPrice = stopLossPrice * (1 + takeProfitPercent);
-
-                    tradeHistory.add(new Trade("BUY", date, price, 0, balance, positionSize, stopLossPrice, takeProfitPrice));
-                    System.out.printf("BUY %.2f units at %.2f on %s | SL: %.2f | TP: %.2f | Balance: %.2f%n",
-                            positionSize, price, date, stopLossPrice, takeProfitPrice, balance);
-                }
-            }
-
-            if (hasPosition && shortSMA.get(i - 1) > longSMA.get(i - 1) && shortMA < longMA) {
-                double sellValue = positionSize * price;
-                double profit = sellValue - (positionSize * buyPrice);
-                balance += sellValue;
-                hasPosition = false;
-                tradeHistory.add(new Trade("SELL", date, price, profit, balance, positionSize, 0, 0));
-
-                // Update win/loss stats
-                if (profit > 0) totalWins++;
-                else totalLosses++;
-                totalTrades++;
-
-                // Track peak balance and max drawdown
-                if (balance > peakBalance) peakBalance = balance;
-                double drawdown = (peakBalance - balance) / peakBalance;
-                if (drawdown > maxDrawdown) maxDrawdown = drawdown;
-
-                System.out.printf("SELL %.2f units at %.2f on %s | Profit: %.2f | Balance: %.2f%n",
-                        positionSize, price, date, profit, balance);
-
-                buyPrice = 0;
-                positionSize = 0;
-            }
-        }
+        run(PriceSeries.fromDataPoints(marketData));
+    }
 
-        if (hasPosition) {
-            double lastPrice = marketData.get(marketData.size() - 1).getClosePrice();
-            double sellValue = positionSize * lastPrice;
-            double profit = sellValue - (positionSize * buyPrice);
-            balance += sellValue;
-            hasPosition = false;
-
-            tradeHistory.add(new Trade("FINAL SELL", marketData.get(marketData.size() - 1).getDate(),
-                    lastPrice, profit, balance, positionSize, 0, 0));
-            System.out.printf("FINAL SELL | %.2f units at %.2f | Profit: %.2f | Final Balance: %.2f%n",
-                    positionSize, lastPrice, profit, balance);
+    public void run(PriceSeries marketData) {
+        if (resultCache == null || sharedShortSMA != null) {
+            lastResult = engine(tradeListener).run(this, marketData);
+            return;
         }
+        // Cached runs are computed silently and replayed to the listener, so hits and misses look the same
+        lastResult = resultCache.getOrRun(marketData, cacheKey(),
+                () -> engine(TradeListener.NONE).run(this, marketData));
+        tradeListener.onTrades(lastResult.getTradeHistory());
+        tradeListener.onRunComplete(lastResult);
+    }
+
+    /**
+     * Runs the strategy on bars streamed from a file, without loading the whole file into memory.
+     *
+     * @param stream The bar stream.
+     */
+    public void run(BarStream stream) {
+        lastResult = engine(tradeListener).run(this, stream);
+    }
 
-        calculatePerformanceMetrics();
-    }
-
-    private List<Double> calculateSMA(List<MarketDataPoint> marketData, int period) {
-        List<Double> smaValues = new ArrayList<>();
-        for (int i = 0; i < marketData.size(); i++) {
-            if (i < period - 1) {
-                smaValues.add(0.0);
-            } else {
-                double sum = 0.0;
-                for (int j = i - period + 1; j <= i; j++) {
-                    sum += marketData.get(j).getClosePrice();
-                }
-                smaValues.add(sum / period);
-            }
+    /**
+     * Runs the strategy with moving averages that were computed up front, e.g. shared between
+     * the combinations of a parameter sweep.
+     *
+     * @param marketData The price series.
+     * @param shortSMA The short-period SMA of the close, one value per bar of {@code marketData}.
+     * @param longSMA The long-period SMA of the close, one value per bar of {@code marketData}.
+     */
+    public void run(PriceSeries marketData, double[] shortSMA, double[] longSMA) {
+        if (shortSMA.length != marketData.size() || longSMA.length != marketData.size()) {
+            throw new IllegalArgumentException("Moving averages must have one value per bar");
         }
-        return smaValues;
+        run(marketData, shortSMA, longSMA, 0);
     }
 
-    private void calculatePerformanceMetrics() {
-        double totalReturn = ((balance - initialBalance) / initialBalance) * 100;
-        double winRate = (totalTrades > 0) ? (totalWins / totalTrades) * 100 : 0;
-        double avgProfitLoss = (totalTrades > 0) ? cumulativeReturn / totalTrades : 0;
-        double profitFactor = (totalLosses > 0) ? totalWins / totalLosses : 0;
-        double sharpeRatio = (avgProfitLoss / maxDrawdown) * Math.sqrt(252);  // Approximate annualized Sharpe Ratio
+    /**
+     * Runs the strategy on a window of a longer series, reading moving averages computed over the full series.
+     * Because the averages carry over from the bars before the window, signals start on the window's first bar
+     * instead of after a fresh warm-up.
+     *
+     * @param marketData The window to trade.
+     * @param shortSMA The short-period SMA of the full series.
+     * @param longSMA The long-period SMA of the full series.
+     * @param smaOffset The index in the SMA arrays of the window's first bar.
+     */
+    public void run(PriceSeries marketData, double[] shortSMA, double[] longSMA, int smaOffset) {
+        if (smaOffset < 0 || smaOffset + marketData.size() > Math.min(shortSMA.length, longSMA.length)) {
+            throw new IllegalArgumentException("Moving averages do not cover the window");
+        }
+        sharedShortSMA = shortSMA;
+        sharedLongSMA = longSMA;
+        sharedOffset = smaOffset;
+        try {
+            run(marketData);
+        } finally {
+            sharedShortSMA = null;
+            sharedLongSMA = null;
+        }
+    }
 
-        System.out.println("\n--- Performance Summary ---");
-        System.out.printf("Total Return: %.2f%% | Final Balance: %.2f%n", totalReturn, balance);
-        System.out.printf("Total Trades: %d | Win Rate: %.2f%%%n", totalTrades, winRate);
-        System.out.printf("Max Drawdown: %.2f%%%n", maxDrawdown * 100);
-        System.out.printf("Profit Factor: %.2f | Sharpe Ratio: %.2f%n", profitFactor, sharpeRatio);
+    @Override
+    public void onStart(PriceSeries marketData, Portfolio portfolio) {
+        if (sharedShortSMA == null) {
+            // Both averages are updated incrementally, so each bar costs O(1) regardless of the periods
+            shortSMA = new SimpleMovingAverage(shortPeriod);
+            longSMA = new SimpleMovingAverage(longPeriod);
+            prevShortMA = Double.NaN;
+            prevLongMA = Double.NaN;
+        } else {
+            prevShortMA = sharedOffset > 0 ? sharedShortSMA[sharedOffset - 1] : Double.NaN;
+            prevLongMA = sharedOffset > 0 ? sharedLongSMA[sharedOffset - 1] : Double.NaN;
+        }
     }
 
+    @Override
+    public void onBar(PriceSeries marketData, int i, Portfolio portfolio) {
+        double shortMA;
+        double longMA;
+        if (sharedShortSMA != null) {
+            shortMA = sharedShortSMA[sharedOffset + i];
+            longMA = sharedLongSMA[sharedOffset + i];
+        } else {
+            double price = marketData.getClose(i);
+            shortMA = shortSMA.update(price);
+            longMA = longSMA.update(price);
+        }
 
-    private void printTradeSummary() {
-        System.out.println("\n--- Trade Summary ---");
-        for (Trade trade : tradeHistory) {
-            System.out.println(trade);
+        // The averages are NaN until warmed up, so no crossover can fire before both have a previous value
+        if (!portfolio.hasPosition() && prevShortMA < prevLongMA && shortMA > longMA) {
+            double price = marketData.getClose(i);
+            double stopLossPrice = price * (1 - stopLossPercent);
+            double takeProfitPrice = price * (1 + takeProfitPercent);
+            portfolio.enterLong(riskPerTrade, stopLossPrice, takeProfitPrice);
+        } else if (portfolio.hasPosition() && prevShortMA > prevLongMA && shortMA < longMA) {
+            portfolio.exitPosition("SELL");
         }
-        System.out.printf("Final Balance: %.2f%n", balance);
+
+        prevShortMA = shortMA;
+        prevLongMA = longMA;
+    }
+
+    @Override
+    public void onFinish(Portfolio portfolio) {
+        portfolio.exitPosition("FINAL SELL");
     }
 
     public List<Trade> getTradeHistory() {
-        return tradeHistory;
+        return lastResult == null ? List.of() : lastResult.getTradeHistory();
     }
+
+    /**
+     * Returns the trades and metrics of the last run, or null if the strategy has not been run.
+     */
+    public BacktestResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Returns the metrics of the last run, or null if the strategy has not been run.
+     */
+    public PerformanceMetrics getPerformanceMetrics() {
+        return lastResult == null ? null : lastResult.getMetrics();
+    }
+
+    /**
+     * Sets the listener that receives trades and the run summary (silent by default).
+     */
+    public void setTradeListener(TradeListener tradeListener) {
+        this.tradeListener = tradeListener;
+    }
+
+    /**
+     * Sets a cache that {@link #run(PriceSeries)} consults before backtesting (none by default).
+     * Runs with precomputed moving averages bypass it, since their result also depends on the arrays passed in.
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Sets the commissions and fill prices of later runs (free fills at the reference price by default).
+     */
+    public void setTradingCosts(CostModel costModel, FillModel fillModel) {
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+    }
+
+    /**
+     * @return A key identifying this strategy and every parameter that affects its result, for a {@link ResultCache}.
+     */
+    public String cacheKey() {
+        return "MovingAverageStrategy[short=" + shortPeriod + ",long=" + longPeriod + ",balance=" + initialBalance
+                + ",risk=" + riskPerTrade + ",sl=" + stopLossPercent + ",tp=" + takeProfitPercent + "]"
+                + costModel + fillModel;
+    }
+
+    private BacktestEngine engine(TradeListener listener) {
+        BacktestEngine engine = new BacktestEngine(initialBalance, listener);
+        engine.setTradingCosts(costModel, fillModel);
+        return engine;
+    }
+
+    public int getShortPeriod() { return shortPeriod; }
+    public int getLongPeriod() { return longPeriod; }
+    public double getRiskPerTrade() { return riskPerTrade; }
+    public double getStopLossPercent() { return stopLossPercent; }
+    public double getTakeProfitPercent() { return takeProfitPercent; }
 }
@@ -0,0 +1,175 @@
+package org.example.engine;
+
+import org.example.indicators.IndicatorCache;
+import org.example.models.BacktestResult;
+import org.example.models.PriceSeries;
+import org.example.utils.ResultCache;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Grid search over MovingAverageStrategy parameters.
+ *
+ * Every combination runs as its own strategy instance on a fork-join pool sized to the machine.
+ * All runs read the same PriceSeries, and each distinct SMA period is computed once into an
+ * {@link IndicatorCache} and shared by every combination that uses it. With a {@link ResultCache}, combinations
+ * already run on identical data are looked up instead of backtested again.
+ */
+public class ParameterSweep {
+    private final SweepGrid grid;
+    private final double initialBalance;
+    private final int parallelism;
+    private ResultCache resultCache; // Optional, shared by all combinations
+    private CostModel costModel = CostModel.NONE; // Applied to every combination
+    private FillModel fillModel = FillModel.IDEAL;
+
+    /**
+     * Creates a sweep that uses all available cores.
+     *
+     * @param grid The parameter values to evaluate.
+     * @param initialBalance The starting balance of every run.
+     */
+    public ParameterSweep(SweepGrid grid, double initialBalance) {
+        this(grid, initialBalance, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param grid The parameter values to evaluate.
+     * @param initialBalance The starting balance of every run.
+     * @param parallelism The number of worker threads.
+     */
+    public ParameterSweep(SweepGrid grid, double initialBalance, int parallelism) {
+        this.grid = grid;
+        this.initialBalance = initialBalance;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets a cache of combination results, e.g. one kept across sweeps of the same data (none by default).
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public ResultCache getResultCache() { return resultCache; }
+
+    /**
+     * Sets the commissions and fill prices of every combination (free fills at the reference price by default).
+     */
+    public void setTradingCosts(CostModel costModel, FillModel fillModel) {
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+    }
+
+    public CostModel getCostModel() { return costModel; }
+    public FillModel getFillModel() { return fillModel; }
+
+    /**
+     * Runs every valid combination and ranks them by total return.
+     */
+    public List<SweepResult> run(PriceSeries marketData) {
+        return run(marketData, SweepResult.BY_TOTAL_RETURN);
+    }
+
+    /**
+     * Runs every valid combination of the grid on the market data.
+     *
+     * @param marketData The price series shared by all runs.
+     * @param ranking The order of the returned results (best first).
+     * @return One result per valid combination, sorted by {@code ranking}.
+     */
+    public List<SweepResult> run(PriceSeries marketData, Comparator<SweepResult> ranking) {
+        IndicatorCache indicators = new IndicatorCache(marketData);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> {
+                precompute(indicators);
+                return evaluate(indicators, 0, marketData.size(), ranking);
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameter sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Parameter sweep failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes each distinct SMA series of the grid once, in parallel, before the combinations start reading them.
+     */
+    void precompute(IndicatorCache indicators) {
+        Arrays.stream(grid.distinctPeriods()).parallel().forEach(indicators::sma);
+    }
+
+    /**
+     * Evaluates every valid combination on bars {@code [from, to)} of the cache's series, using the cached
+     * indicators for those bars. Parallel when called from inside a fork-join pool.
+     */
+    List<SweepResult> evaluate(IndicatorCache indicators, int from, int to, Comparator<SweepResult> ranking) {
+        PriceSeries window = indicators.getSeries().slice(from, to);
+        return LongStream.range(0, grid.size()).parallel()
+                .mapToObj(index -> grid.strategyAt(index, initialBalance))
+                .filter(Objects::nonNull)
+                .map(strategy -> {
+                    strategy.setTradingCosts(costModel, fillModel);
+                    return evaluate(strategy, indicators, window, from, resultCache);
+                })
+                .sorted(ranking)
+                .toList();
+    }
+
+    /**
+     * Runs one configured strategy on a window of the indicator cache's series, or looks its result up.
+     * Because the moving averages carry over from the bars before the window, results are keyed on the full
+     * series and the window's bounds rather than on the window alone.
+     *
+     * @param resultCache The result cache, or null to always run.
+     */
+    static SweepResult evaluate(MovingAverageStrategy strategy, IndicatorCache indicators, PriceSeries window, int from,
+                                ResultCache resultCache) {
+        BacktestResult result;
+        if (resultCache == null) {
+            result = run(strategy, indicators, window, from);
+        } else {
+            String runKey = strategy.cacheKey() + "[bars=" + from + "-" + (from + window.size()) + "]";
+            result = resultCache.getOrRun(indicators.getSeries(), runKey, () -> run(strategy, indicators, window, from));
+        }
+        return new SweepResult(strategy.getShortPeriod(), strategy.getLongPeriod(), strategy.getRiskPerTrade(),
+                strategy.getStopLossPercent(), strategy.getTakeProfitPercent(), result.getMetrics());
+    }
+
+    private static BacktestResult run(MovingAverageStrategy strategy, IndicatorCache indicators, PriceSeries window,
+                                      int from) {
+        strategy.run(window, indicators.sma(strategy.getShortPeriod()), indicators.sma(strategy.getLongPeriod()), from);
+        return strategy.getLastResult();
+    }
+
+    /**
+     * Prints the best results as a table.
+     *
+     * @param results Ranked sweep results.
+     * @param limit The maximum number of rows to print.
+     */
+    public static void printTable(List<SweepResult> results, int limit) {
+        System.out.printf("%-4s | %5s | %5s | %6s | %6s | %6s | %9s | %10s | %6s | %7s | %7s | %6s | %6s | %7s | %6s%n",
+                "Rank", "Short", "Long", "Risk", "SL", "TP", "Return %", "Balance", "Trades", "Win %", "Max DD%", "PF",
+                "Sharpe", "Sortino", "Calmar");
+        for (int i = 0; i < Math.min(limit, results.size()); i++) {
+            SweepResult r = results.get(i);
+            System.out.printf("%-4d | %5d | %5d | %6.3f | %6.3f | %6.3f | %9.2f | %10.2f | %6d | %7.2f | %7.2f | %6.2f | %6.2f | %7.2f | %6.2f%n",
+                    i + 1, r.getShortPeriod(), r.getLongPeriod(), r.getRiskPerTrade(), r.getStopLossPercent(),
+                    r.getTakeProfitPercent(), r.getMetrics().getTotalReturn(), r.getMetrics().getFinalBalance(),
+                    r.getMetrics().getTotalTrades(), r.getMetrics().getWinRate(), r.getMetrics().getMaxDrawdown() * 100,
+                    r.getMetrics().getProfitFactor(), r.getMetrics().getSharpeRatio(), r.getMetrics().getSortinoRatio(),
+                    r.getMetrics().getCalmarRatio());
+        }
+    }
+}
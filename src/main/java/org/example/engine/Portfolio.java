@@ -0,0 +1,338 @@
+package org.example.engine;
+
+import org.example.listeners.TradeListener;
+import org.example.models.EquityCurve;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.models.Trade;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Account state of one backtest run: cash, the open long positions, the trade history and running statistics.
+ *
+ * Positions are tracked per symbol in primitive arrays indexed by the symbol id, and all symbols share one
+ * cash balance. The {@link BacktestEngine} moves the portfolio to each bar (and its symbol) before calling the
+ * strategy; orders placed by the strategy apply to that symbol and fill at that bar's close. Stop-loss and
+ * take-profit levels of open positions are filled intrabar by {@link #checkExits()}. Every fill is
+ * recorded in the trade history and passed to the portfolio's {@link TradeListener}.
+ *
+ * Fills go through the run's {@link FillModel} (spread and slippage) and are charged its {@link CostModel}
+ * (commissions); by default both are free. A position's cost basis includes its entry commission, so closed-trade
+ * profits are net of all costs.
+ *
+ * Open positions are marked to market at each bar's close, and the resulting equity is fed to an
+ * {@link EquityTracker} from which the risk metrics are computed.
+ */
+public class Portfolio {
+    private final double initialBalance; // Initial capital
+    private final TradeListener listener; // Receives every fill
+    private final boolean retainTrades; // Keep fills in tradeHistory (false when they are only streamed out)
+    private final String[] symbols; // Symbol names by id, or null for a single unnamed series
+    private final CostModel costModel; // Commission of each fill
+    private final FillModel fillModel; // Fill price of each order
+
+    private double balance; // Cash not tied up in positions
+    private final boolean[] hasPosition; // Tracks if we currently own each asset
+    private final double[] buyPrice; // The price at which we last bought each asset
+    private final double[] costBasis; // Cash paid for each open position, commission included
+    private final double[] positionSize; // Number of units held per asset
+    private final double[] stopLossPrice; // Stop-loss level of each open position
+    private final double[] takeProfitPrice; // Take-profit level of each open position
+    private final double[] lastPrice; // Latest close seen for each asset
+    private double positionValue = 0; // Market value of all open positions at their latest close
+    private int openPositions = 0;
+    private final List<Trade> tradeHistory = new ArrayList<>();
+
+    private int symbol = 0; // Id of the symbol of the current bar
+    private PriceSeries marketData; // Series the current bar belongs to
+    private int barIndex = -1; // Index of the current bar
+    private double price; // Close of the current bar
+
+    private int totalTrades = 0; // Closed trades
+    private int winningTrades = 0;
+    private double totalProfit = 0; // Running total of realised profit/loss
+    private double grossProfit = 0; // Sum of the profits of winning trades
+    private double grossLoss = 0; // Sum of the losses of losing trades, as a positive number
+    private double commissions = 0; // Total commission paid
+    private double slippage = 0; // Total cost of filling away from the reference prices
+    private final EquityTracker equity; // Per-bar equity statistics
+    private boolean filledSinceMark = false; // A fill changed the equity after the latest mark
+
+    /**
+     * Creates a portfolio trading a single series.
+     *
+     * @param initialBalance The starting cash.
+     * @param listener The listener notified of every fill.
+     */
+    public Portfolio(double initialBalance, TradeListener listener) {
+        this(initialBalance, null, listener, true);
+    }
+
+    /**
+     * Creates a portfolio trading several symbols from one cash balance.
+     *
+     * @param initialBalance The starting cash.
+     * @param symbols The symbol names, indexed by symbol id (null for a single unnamed series).
+     * @param listener The listener notified of every fill.
+     * @param retainTrades True to keep every fill in the trade history, false to only pass fills to the listener.
+     */
+    public Portfolio(double initialBalance, String[] symbols, TradeListener listener, boolean retainTrades) {
+        this(initialBalance, symbols, listener, retainTrades, CostModel.NONE, FillModel.IDEAL);
+    }
+
+    /**
+     * Creates a portfolio that charges trading costs.
+     *
+     * @param initialBalance The starting cash.
+     * @param symbols The symbol names, indexed by symbol id (null for a single unnamed series).
+     * @param listener The listener notified of every fill.
+     * @param retainTrades True to keep every fill in the trade history, false to only pass fills to the listener.
+     * @param costModel The commission charged on every fill.
+     * @param fillModel The spread and slippage applied to every fill.
+     */
+    public Portfolio(double initialBalance, String[] symbols, TradeListener listener, boolean retainTrades,
+                     CostModel costModel, FillModel fillModel) {
+        int symbolCount = symbols == null ? 1 : symbols.length;
+        this.initialBalance = initialBalance;
+        this.balance = initialBalance;
+        this.listener = listener;
+        this.retainTrades = retainTrades;
+        this.symbols = symbols;
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+        this.hasPosition = new boolean[symbolCount];
+        this.buyPrice = new double[symbolCount];
+        this.costBasis = new double[symbolCount];
+        this.positionSize = new double[symbolCount];
+        this.stopLossPrice = new double[symbolCount];
+        this.takeProfitPrice = new double[symbolCount];
+        this.lastPrice = new double[symbolCount];
+        this.equity = new EquityTracker(initialBalance);
+    }
+
+    /**
+     * Keeps every point of the equity curve, returned by {@link #getEquityCurve()}. Must be called before the first bar.
+     */
+    void recordEquityCurve() {
+        equity.recordCurve();
+    }
+
+    /**
+     * Moves the portfolio to a bar of the single series. Called by the engine before the strategy sees the bar.
+     */
+    void setBar(PriceSeries marketData, int index) {
+        setBar(0, marketData, index);
+    }
+
+    /**
+     * Moves the portfolio to a bar of one symbol. Called by the engine before the strategy sees the bar.
+     */
+    void setBar(int symbolId, PriceSeries marketData, int index) {
+        this.symbol = symbolId;
+        this.marketData = marketData;
+        this.barIndex = index;
+        this.price = marketData.getClose(index);
+        if (hasPosition[symbolId]) {
+            positionValue += positionSize[symbolId] * (price - lastPrice[symbolId]);
+        }
+        lastPrice[symbolId] = price;
+    }
+
+    /**
+     * Adds the current equity (cash plus open positions at their latest close) to the equity statistics.
+     * Called by the engine once per time step, after the strategy has seen the bar.
+     */
+    void markToMarket() {
+        equity.mark(marketData.getTimestamp(barIndex), balance + positionValue, openPositions > 0);
+        filledSinceMark = false;
+    }
+
+    /**
+     * Replaces the latest equity point if fills happened after it was marked, so the curve and the risk metrics
+     * include them. Called by the engine after the strategy's onFinish, whose final sells follow the last mark.
+     */
+    void remarkLast() {
+        if (filledSinceMark) {
+            equity.replaceLast(balance + positionValue, openPositions > 0);
+            filledSinceMark = false;
+        }
+    }
+
+    /**
+     * Opens a long position in the current symbol at the current close, investing a fraction of the available balance.
+     * The fraction pays for the units at the fill price and their commission.
+     *
+     * @param capitalFraction The fraction of the balance to invest (e.g. 0.05 for 5%).
+     * @param stopLossPrice The stop-loss level recorded with the position.
+     * @param takeProfitPrice The take-profit level recorded with the position.
+     * @return True if the position was opened, false if one is already open or the balance is insufficient.
+     */
+    public boolean enterLong(double capitalFraction, double stopLossPrice, double takeProfitPrice) {
+        double capitalToInvest = balance * capitalFraction;
+        // Volume participation is estimated from the order size before costs
+        double fillPrice = fillModel.buyPrice(price, capitalToInvest / price, marketData.getVolume(barIndex));
+        double units = costModel.unitsFor(capitalToInvest, fillPrice);
+        if (hasPosition[symbol] || !(units > 0) || capitalToInvest > balance) {
+            return false;
+        }
+        double commission = costModel.commission(units);
+
+        hasPosition[symbol] = true;
+        openPositions++;
+        buyPrice[symbol] = fillPrice;
+        costBasis[symbol] = units * fillPrice + commission;
+        positionSize[symbol] = units;
+        this.stopLossPrice[symbol] = stopLossPrice;
+        this.takeProfitPrice[symbol] = takeProfitPrice;
+        balance -= capitalToInvest; // Equal to the cost basis: the units were sized to spend exactly this
+        positionValue += units * price;
+        commissions += commission;
+        slippage += units * (fillPrice - price);
+
+        record(new Trade(symbolName(), "BUY", marketData.getTimestamp(barIndex), fillPrice, 0, balance, units,
+                stopLossPrice, takeProfitPrice));
+        return true;
+    }
+
+    /**
+     * Closes the open position in the current symbol at the current close. Does nothing if there is no position.
+     *
+     * @param reason The trade type recorded in the history (e.g. "SELL", "Stop-Loss", "FINAL SELL").
+     */
+    public void exitPosition(String reason) {
+        if (hasPosition[symbol]) {
+            closePosition(price, reason);
+        }
+    }
+
+    /**
+     * Fills the stop-loss or take-profit of the open position in the current symbol if the current bar reached it.
+     * Called by the engine on every bar before the strategy sees it, so levels set on one bar are enforced from
+     * the next bar on. A level of 0 (or below) disables that side.
+     *
+     * The bar's range decides the fill: a bar opening beyond a level (a gap) fills at the open, otherwise a level
+     * inside [low, high] fills at the level. When a bar reaches both, the stop-loss is assumed to fill first.
+     * On close-only bars this is the same as checking the levels against the close.
+     *
+     * @return True if the position was closed.
+     */
+    boolean checkExits() {
+        if (!hasPosition[symbol]) {
+            return false;
+        }
+        double stop = stopLossPrice[symbol];
+        double take = takeProfitPrice[symbol] > 0 ? takeProfitPrice[symbol] : Double.POSITIVE_INFINITY;
+        boolean stopHit = marketData.getLow(barIndex) <= stop;
+        boolean takeHit = marketData.getHigh(barIndex) >= take;
+        if (!(stopHit | takeHit)) {
+            return false; // The common case: one combined test, no per-level branches
+        }
+
+        double open = marketData.getOpen(barIndex);
+        if (open >= take) {
+            closePosition(open, "Take-Profit"); // Gapped above the target
+        } else if (stopHit) {
+            closePosition(Math.min(open, stop), "Stop-Loss"); // At the open when it gapped below the stop
+        } else {
+            closePosition(take, "Take-Profit");
+        }
+        return true;
+    }
+
+    /**
+     * Sells the open position of the current symbol.
+     *
+     * @param exitPrice The reference price of the exit (the close, or the stop-loss or take-profit fill).
+     */
+    private void closePosition(double exitPrice, String reason) {
+        double units = positionSize[symbol];
+        double fillPrice = fillModel.sellPrice(exitPrice, units, marketData.getVolume(barIndex));
+        double commission = costModel.commission(units);
+        double proceeds = units * fillPrice - commission;
+        double profit = proceeds - costBasis[symbol];
+        balance += proceeds;
+        totalProfit += profit;
+        positionValue -= units * lastPrice[symbol];
+        commissions += commission;
+        slippage += units * (exitPrice - fillPrice);
+
+        // Update win/loss stats
+        if (profit > 0) {
+            winningTrades++;
+            grossProfit += profit;
+        } else {
+            grossLoss -= profit;
+        }
+        totalTrades++;
+
+        record(new Trade(symbolName(), reason, marketData.getTimestamp(barIndex), fillPrice, profit, balance, units,
+                stopLossPrice[symbol], takeProfitPrice[symbol]));
+
+        hasPosition[symbol] = false;
+        openPositions--;
+        buyPrice[symbol] = 0;
+        costBasis[symbol] = 0;
+        positionSize[symbol] = 0;
+        stopLossPrice[symbol] = 0;
+        takeProfitPrice[symbol] = 0;
+        if (openPositions == 0) {
+            positionValue = 0; // Drop the rounding drift of the incremental updates
+        }
+    }
+
+    /**
+     * Computes the performance metrics from the trades closed and the bars marked so far. Positions still open are
+     * valued at their latest close, so the final balance matches the last point of the equity curve.
+     */
+    public PerformanceMetrics computeMetrics() {
+        double finalBalance = getEquity();
+        double totalReturn = ((finalBalance - initialBalance) / initialBalance) * 100;
+        double winRate = (totalTrades > 0) ? ((double) winningTrades / totalTrades) * 100 : 0;
+        double profitFactor = (grossLoss > 0) ? grossProfit / grossLoss : 0;
+        return new PerformanceMetrics(finalBalance, totalReturn, equity.annualizedReturn(), totalTrades, winRate,
+                profitFactor, equity.maxDrawdown(), equity.maxDrawdownDuration(), equity.annualizedVolatility(),
+                equity.sharpeRatio(), equity.sortinoRatio(), equity.calmarRatio(), equity.exposure(), commissions,
+                slippage);
+    }
+
+    /**
+     * @return The equity curve recorded so far, or null if {@link #recordEquityCurve()} was not called.
+     */
+    public EquityCurve getEquityCurve() {
+        return equity.curve();
+    }
+
+    private void record(Trade trade) {
+        filledSinceMark = true;
+        if (retainTrades) {
+            tradeHistory.add(trade);
+        }
+        listener.onTrade(trade);
+    }
+
+    private String symbolName() {
+        return symbols == null ? null : symbols[symbol];
+    }
+
+    // Position accessors refer to the symbol of the current bar
+    public boolean hasPosition() { return hasPosition[symbol]; }
+    public double getBuyPrice() { return buyPrice[symbol]; }
+    public double getPositionSize() { return positionSize[symbol]; }
+    public double getStopLossPrice() { return stopLossPrice[symbol]; }
+    public double getTakeProfitPrice() { return takeProfitPrice[symbol]; }
+    public int getSymbolId() { return symbol; }
+
+    public int getOpenPositions() { return openPositions; }
+    public double getBalance() { return balance; }
+    public double getEquity() { return balance + positionValue; }
+    public double getInitialBalance() { return initialBalance; }
+    public double getTotalProfit() { return totalProfit; }
+    public double getCommissions() { return commissions; }
+    public double getSlippage() { return slippage; }
+    public CostModel getCostModel() { return costModel; }
+    public FillModel getFillModel() { return fillModel; }
+    public TradeListener getListener() { return listener; }
+    public List<Trade> getTradeHistory() { return tradeHistory; }
+}
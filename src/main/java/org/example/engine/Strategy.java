@@ -1,32 +1,29 @@
 package org.example.engine;
 
+import org.example.listeners.TradeListener;
+import org.example.models.BacktestResult;
 import org.example.models.MarketDataPoint;
+import org.example.models.PriceSeries;
 import org.example.models.Trade;
+import org.example.utils.BarStream;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A trading strategy with risk management using stop-loss and take-profit.
  */
-public class Strategy {
+public class Strategy implements TradingStrategy {
     private final double buyThreshold;  // The price at which we buy
     private final double sellThreshold; // The price at which we sell
     private final double riskPerTrade; // % of balance to allocate per trade
     private final double stopLossPercent; // Stop-loss percentage (e.g. 2% below buy price)
     private final double takeProfitPercent; // Take-profit percentage (e.g. 5% above buy price)
-
-    private boolean hasPosition = false; // Tracks if we currently own the asset
-    private double buyPrice = 0; // The price at which we last bought
-    private double positionSize = 0; // Number of units purchased
-    private double stopLossPrice = 0; // Stop-loss level
-    private double takeProfitPrice = 0; // Take-profit level
-
-
-    private final List<Trade> tradeHistory = new ArrayList<>(); // List to keep track of all trades made by strategy
-    private double balance; // Account balance
     private final double initialBalance; // Initial capital
-    private double totalProfit = 0; // Running total of profits/loss
+    private TradeListener tradeListener = TradeListener.NONE; // Receives trades and the run summary
+    private CostModel costModel = CostModel.NONE;
+    private FillModel fillModel = FillModel.IDEAL;
+
+    private BacktestResult lastResult; // Trades and metrics of the last run
 
     /**
      * Constructor to initialize the strategy with buy and sell thresholds.
@@ -43,7 +40,6 @@ public class Strategy {
         this.buyThreshold = buyThreshold;
         this.sellThreshold = sellThreshold;
         this.initialBalance = initialBalance;
-        this.balance = initialBalance;
         this.riskPerTrade = riskPerTrade;
         this.stopLossPercent = stopLossPercent;
         this.takeProfitPercent = takeProfitPercent;
@@ -55,86 +51,82 @@ public class Strategy {
      * @param marketDataPoints The list of market data points.
     */
     public void run(List<MarketDataPoint> marketDataPoints) {
+        run(PriceSeries.fromDataPoints(marketDataPoints));
+    }
 
-        for (MarketDataPoint marketDataPoint : marketDataPoints) {
-            double price = marketDataPoint.getClosePrice();
-            String date = marketDataPoint.getDate();
-
-            // BUY Logic (Enter Trade)
-            if (!hasPosition && price <= buyThreshold) {
-
-                // Calculate the  amount to invest (risk % of balance)
-                double capitalToInvest = balance * riskPerTrade;
-                positionSize = capitalToInvest / price; // Number of units to buy
-
-                if (positionSize > 0 && capitalToInvest < balance) {
-                    buyPrice = price;
-
-                    stopLossPrice = buyPrice * (1 - stopLossPercent); // Set the stop-loss level
-                    takeProfitPrice = buyPrice * (1 + takeProfitPercent); // Set the take-profit level
-
-                    hasPosition = true;
-                    balance -= capitalToInvest; // Deduct investment from balance
-
-                    tradeHistory.add(new Trade("BUY", date, price, 0, balance, positionSize, stopLossPrice, takeProfitPrice));
-                    System.out.printf("BUY %.2f units at %.2f on %s | Stop-Loss: %.2f | Take-Profit: %.2f | Balance: %.2f%n",
-                            positionSize, price, date, stopLossPrice, takeProfitPrice, balance);
-                } else {
-                    System.out.printf("INSUFFICIENT FUNDS: Cannot buy at %.2f on %s | Balance: %.2f%n",
-                            price, date, balance);
-                }
-
-            }
-            // SELL logic (Exit trade due to take-profit or stop-loss)
-            if (hasPosition) {
-                if (price >= takeProfitPrice) {
-                    exitTrade("Take-Profit", price, date);
-                } else if (price <= stopLossPrice) {
-                    exitTrade("Stop-Loss", price, date);
-                }
-            }
-        }
-        printTradeSummary();
+    /**
+     * Runs the strategy on a columnar price series through the shared backtest engine.
+     *
+     * @param marketData The price series.
+     */
+    public void run(PriceSeries marketData) {
+        lastResult = engine().run(this, marketData);
     }
 
     /**
-     * Handles exiting a trade when stop-loss or take-profit is triggered.
+     * Runs the strategy on bars streamed from a file, without loading the whole file into memory.
      *
-     * @param reason The reason for exiting (Stop-Loss or Take-Profit).
-     * @param price The exit price.
-     * @param date The exit date.
+     * @param stream The bar stream.
+     */
+    public void run(BarStream stream) {
+        lastResult = engine().run(this, stream);
+    }
+
+    @Override
+    public void onBar(PriceSeries marketData, int i, Portfolio portfolio) {
+        double price = marketData.getClose(i);
+
+        // BUY Logic (Enter Trade)
+        if (!portfolio.hasPosition() && price <= buyThreshold) {
+            double stopLossPrice = price * (1 - stopLossPercent); // Set the stop-loss level
+            double takeProfitPrice = price * (1 + takeProfitPercent); // Set the take-profit level
+
+            portfolio.enterLong(riskPerTrade, stopLossPrice, takeProfitPrice);
+        }
+        // SELL logic: the engine fills the take-profit and stop-loss levels intrabar against each bar's high and low
+    }
+
+    /**
+     * Sets the listener that receives trades and the run summary (silent by default).
      */
-    private void exitTrade(String reason, double price, String date) {
-        double sellValue = positionSize * price;
-        double profit = sellValue - (positionSize * buyPrice);
-        totalProfit += profit;
-        balance += sellValue;
-
-        tradeHistory.add(new Trade(reason, date, price, profit, balance, positionSize, stopLossPrice, takeProfitPrice));
-        System.out.printf("%s EXIT: Sold %.2f units at %.2f on %s | Profit: %.2f | New Balance: %.2f%n",
-                reason, positionSize, price, date, profit, balance);
-
-        hasPosition = false;
-        buyPrice = 0;
-        positionSize = 0;
+    public void setTradeListener(TradeListener tradeListener) {
+        this.tradeListener = tradeListener;
     }
 
     /**
-     * Prints a summary of all trades and total profit.
+     * Sets the commissions and fill prices of later runs (free fills at the reference price by default).
+     */
+    public void setTradingCosts(CostModel costModel, FillModel fillModel) {
+        this.costModel = costModel;
+        this.fillModel = fillModel;
+    }
+
+    private BacktestEngine engine() {
+        BacktestEngine engine = new BacktestEngine(initialBalance, tradeListener);
+        engine.setTradingCosts(costModel, fillModel);
+        return engine;
+    }
+
+    /**
+     * Prints a summary of all trades of the last run and total profit.
      * */
-    private void printTradeSummary() {
+    public void printTradeSummary() {
+        if (lastResult == null) {
+            return;
+        }
+        double totalProfit = 0;
         System.out.println("\n----- Trade Summary -----");
-        for (Trade trade : tradeHistory) {
+        for (Trade trade : lastResult.getTradeHistory()) {
             System.out.println(trade);
+            totalProfit += trade.getProfit();
         }
-        System.out.printf("Total Profit: %.2f | Final Balance: %.2f%n", totalProfit, balance);
-
+        System.out.printf("Total Profit: %.2f | Final Balance: %.2f%n", totalProfit, lastResult.getMetrics().getFinalBalance());
     }
 
     /**
      * Returns the trade history for export.
      */
     public List<Trade> getTradeHistory() {
-        return tradeHistory;
+        return lastResult == null ? List.of() : lastResult.getTradeHistory();
     }
 }
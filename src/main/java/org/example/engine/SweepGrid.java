@@ -0,0 +1,100 @@
+package org.example.engine;
+
+import java.util.Arrays;
+
+/**
+ * The parameter values a {@link ParameterSweep} evaluates for MovingAverageStrategy.
+ * Every combination of the five value lists is one backtest; combinations whose short period
+ * is not below the long period are skipped.
+ */
+public class SweepGrid {
+    private final int[] shortPeriods;
+    private final int[] longPeriods;
+    private final double[] riskPerTrade;
+    private final double[] stopLossPercents;
+    private final double[] takeProfitPercents;
+
+    /**
+     * @param shortPeriods The short SMA periods to try.
+     * @param longPeriods The long SMA periods to try.
+     * @param riskPerTrade The fractions of balance to invest per trade.
+     * @param stopLossPercents The stop-loss percentages (e.g. 0.02 for 2%).
+     * @param takeProfitPercents The take-profit percentages (e.g. 0.05 for 5%).
+     */
+    public SweepGrid(int[] shortPeriods, int[] longPeriods, double[] riskPerTrade,
+                     double[] stopLossPercents, double[] takeProfitPercents) {
+        this.shortPeriods = shortPeriods.clone();
+        this.longPeriods = longPeriods.clone();
+        this.riskPerTrade = riskPerTrade.clone();
+        this.stopLossPercents = stopLossPercents.clone();
+        this.takeProfitPercents = takeProfitPercents.clone();
+        if (size() == 0) {
+            throw new IllegalArgumentException("Every parameter needs at least one value");
+        }
+    }
+
+    /**
+     * @return The values {@code from, from + step, ...} up to and including {@code to}.
+     */
+    public static int[] range(int from, int to, int step) {
+        if (step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range " + from + ".." + to + " step " + step);
+        }
+        int[] values = new int[(to - from) / step + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * @return The values {@code from, from + step, ...} up to and including {@code to} (within rounding).
+     */
+    public static double[] range(double from, double to, double step) {
+        if (step <= 0 || to < from) {
+            throw new IllegalArgumentException("Invalid range " + from + ".." + to + " step " + step);
+        }
+        double[] values = new double[(int) Math.floor((to - from) / step + 1e-9) + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * @return The number of combinations in the grid, including ones that will be skipped.
+     */
+    public long size() {
+        return (long) shortPeriods.length * longPeriods.length * riskPerTrade.length
+                * stopLossPercents.length * takeProfitPercents.length;
+    }
+
+    /**
+     * @return The distinct SMA periods used by any combination.
+     */
+    public int[] distinctPeriods() {
+        return Arrays.stream(new int[][]{shortPeriods, longPeriods}).flatMapToInt(Arrays::stream).distinct().toArray();
+    }
+
+    /**
+     * Decodes a combination index in {@code [0, size())} into a strategy configured with those parameters.
+     *
+     * @return The strategy, or null if the combination is invalid (short period not below long period).
+     */
+    MovingAverageStrategy strategyAt(long index, double initialBalance) {
+        int tp = (int) (index % takeProfitPercents.length);
+        index /= takeProfitPercents.length;
+        int sl = (int) (index % stopLossPercents.length);
+        index /= stopLossPercents.length;
+        int risk = (int) (index % riskPerTrade.length);
+        index /= riskPerTrade.length;
+        int longIndex = (int) (index % longPeriods.length);
+        int shortIndex = (int) (index / longPeriods.length);
+
+        if (shortPeriods[shortIndex] >= longPeriods[longIndex]) {
+            return null;
+        }
+        return new MovingAverageStrategy(shortPeriods[shortIndex], longPeriods[longIndex], initialBalance,
+                riskPerTrade[risk], stopLossPercents[sl], takeProfitPercents[tp]);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.engine;
+
+import org.example.models.PerformanceMetrics;
+
+import java.util.Comparator;
+
+/**
+ * The parameters and resulting metrics of one combination in a parameter sweep.
+ */
+public class SweepResult {
+    /** Highest total return first. */
+    public static final Comparator<SweepResult> BY_TOTAL_RETURN =
+            Comparator.comparingDouble((SweepResult r) -> r.getMetrics().getTotalReturn()).reversed();
+    /** Highest Sharpe ratio first (NaN ranks last). */
+    public static final Comparator<SweepResult> BY_SHARPE_RATIO =
+            Comparator.comparingDouble((SweepResult r) -> orLowest(r.getMetrics().getSharpeRatio())).reversed();
+    /** Highest Sortino ratio first (NaN ranks last). */
+    public static final Comparator<SweepResult> BY_SORTINO_RATIO =
+            Comparator.comparingDouble((SweepResult r) -> orLowest(r.getMetrics().getSortinoRatio())).reversed();
+    /** Highest Calmar ratio first (NaN ranks last). */
+    public static final Comparator<SweepResult> BY_CALMAR_RATIO =
+            Comparator.comparingDouble((SweepResult r) -> orLowest(r.getMetrics().getCalmarRatio())).reversed();
+    /** Smallest maximum drawdown first. */
+    public static final Comparator<SweepResult> BY_MAX_DRAWDOWN =
+            Comparator.comparingDouble(r -> r.getMetrics().getMaxDrawdown());
+
+    private final int shortPeriod;
+    private final int longPeriod;
+    private final double riskPerTrade;
+    private final double stopLossPercent;
+    private final double takeProfitPercent;
+    private final PerformanceMetrics metrics;
+
+    public SweepResult(int shortPeriod, int longPeriod, double riskPerTrade, double stopLossPercent,
+                       double takeProfitPercent, PerformanceMetrics metrics) {
+        this.shortPeriod = shortPeriod;
+        this.longPeriod = longPeriod;
+        this.riskPerTrade = riskPerTrade;
+        this.stopLossPercent = stopLossPercent;
+        this.takeProfitPercent = takeProfitPercent;
+        this.metrics = metrics;
+    }
+
+    public int getShortPeriod() { return shortPeriod; }
+    public int getLongPeriod() { return longPeriod; }
+    public double getRiskPerTrade() { return riskPerTrade; }
+    public double getStopLossPercent() { return stopLossPercent; }
+    public double getTakeProfitPercent() { return takeProfitPercent; }
+    public PerformanceMetrics getMetrics() { return metrics; }
+
+    private static double orLowest(double value) {
+        return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("short=%d long=%d risk=%.3f SL=%.3f TP=%.3f | %s",
+                shortPeriod, longPeriod, riskPerTrade, stopLossPercent, takeProfitPercent, metrics);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.engine;
+
+import org.example.models.PriceSeries;
+import org.example.utils.BarCache;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The set of symbols in a portfolio backtest and their price series.
+ * Each symbol gets a dense integer id, which the engine and {@link Portfolio} use to index
+ * per-symbol state in primitive arrays; names are only looked up when loading and reporting.
+ */
+public class SymbolUniverse {
+    private final String[] symbols; // Symbol names by id
+    private final PriceSeries[] series; // Price series by id
+    private final Map<String, Integer> idsBySymbol = new HashMap<>();
+
+    /**
+     * @param symbols The symbol names; a symbol's id is its position in this array.
+     * @param series The price series, in the same order as {@code symbols}.
+     */
+    public SymbolUniverse(String[] symbols, PriceSeries[] series) {
+        if (symbols.length != series.length) {
+            throw new IllegalArgumentException("Need exactly one series per symbol");
+        }
+        this.symbols = symbols.clone();
+        this.series = series.clone();
+        for (int id = 0; id < symbols.length; id++) {
+            if (idsBySymbol.put(symbols[id], id) != null) {
+                throw new IllegalArgumentException("Duplicate symbol: " + symbols[id]);
+            }
+        }
+    }
+
+    /**
+     * Loads one CSV file per symbol (through the bar cache), in parallel.
+     *
+     * @param filesBySymbol CSV paths keyed by symbol; iteration order defines the symbol ids.
+     * @return The loaded universe.
+     */
+    public static SymbolUniverse load(Map<String, String> filesBySymbol) {
+        String[] symbols = filesBySymbol.keySet().toArray(new String[0]);
+        String[] paths = filesBySymbol.values().toArray(new String[0]);
+        PriceSeries[] series = IntStream.range(0, paths.length).parallel()
+                .mapToObj(i -> BarCache.load(paths[i]))
+                .toArray(PriceSeries[]::new);
+        return new SymbolUniverse(symbols, series);
+    }
+
+    /**
+     * Loads every {@code *.csv} file in a directory, naming each symbol after its file (without extension).
+     *
+     * @param directory The directory holding one CSV file per symbol.
+     * @return The loaded universe, with symbols in file name order.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public static SymbolUniverse loadDirectory(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.csv")) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        Map<String, String> filesBySymbol = new LinkedHashMap<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            filesBySymbol.put(name.substring(0, name.length() - ".csv".length()), file.toString());
+        }
+        return load(filesBySymbol);
+    }
+
+    public int size() { return symbols.length; }
+    public String getSymbol(int id) { return symbols[id]; }
+    public PriceSeries getSeries(int id) { return series[id]; }
+
+    /**
+     * @return The id of a symbol, or -1 if it is not in the universe.
+     */
+    public int idOf(String symbol) {
+        Integer id = idsBySymbol.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    String[] symbolArray() { return symbols; }
+    PriceSeries[] seriesArray() { return series; }
+
+    @Override
+    public String toString() {
+        return "SymbolUniverse " + Arrays.toString(symbols);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.engine;
+
+import org.example.models.PriceSeries;
+
+/**
+ * A trading strategy driven bar by bar by the {@link BacktestEngine}.
+ *
+ * Strategies only decide when to trade. The engine owns the loop over the data, and the {@link Portfolio}
+ * it passes in owns cash, positions, order fills, the trade history and the performance metrics.
+ * Each callback should do a bounded amount of work (keep indicator state incrementally rather than
+ * looking back over the series).
+ */
+public interface TradingStrategy {
+
+    /**
+     * Called once before the first bar. Strategies reset any state from a previous run here.
+     *
+     * @param marketData The series about to be replayed.
+     * @param portfolio The portfolio for this run.
+     */
+    default void onStart(PriceSeries marketData, Portfolio portfolio) {
+    }
+
+    /**
+     * Called for every bar, in order. Orders placed on the portfolio fill at this bar's close.
+     *
+     * @param marketData The series being replayed.
+     * @param index The index of the current bar.
+     * @param portfolio The portfolio for this run.
+     */
+    void onBar(PriceSeries marketData, int index, Portfolio portfolio);
+
+    /**
+     * Called once after the last bar, e.g. to close open positions.
+     *
+     * @param portfolio The portfolio for this run; it is still positioned on the last bar.
+     */
+    default void onFinish(Portfolio portfolio) {
+    }
+}
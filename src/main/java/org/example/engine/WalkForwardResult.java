@@ -0,0 +1,65 @@
+package org.example.engine;
+
+import java.util.List;
+
+/**
+ * Per-window and aggregate results of a walk-forward analysis.
+ * Aggregates describe the out-of-sample (test) performance only.
+ */
+public class WalkForwardResult {
+    private final List<WalkForwardWindow> windows;
+    private final double compoundedReturn; // Test-window returns chained together, in percent
+    private final double averageReturn; // Mean test-window return, in percent
+    private final double profitableWindows; // Percentage of test windows with a positive return
+    private final double worstDrawdown; // Largest test-window max drawdown, as a fraction
+    private final int totalTrades; // Closed trades over all test windows
+
+    public WalkForwardResult(List<WalkForwardWindow> windows) {
+        this.windows = windows;
+        double growth = 1;
+        double returnSum = 0;
+        int profitable = 0;
+        double worst = 0;
+        int trades = 0;
+        for (WalkForwardWindow window : windows) {
+            double windowReturn = window.getOutOfSample().getTotalReturn();
+            growth *= 1 + windowReturn / 100;
+            returnSum += windowReturn;
+            if (windowReturn > 0) profitable++;
+            worst = Math.max(worst, window.getOutOfSample().getMaxDrawdown());
+            trades += window.getOutOfSample().getTotalTrades();
+        }
+        this.compoundedReturn = (growth - 1) * 100;
+        this.averageReturn = windows.isEmpty() ? 0 : returnSum / windows.size();
+        this.profitableWindows = windows.isEmpty() ? 0 : 100.0 * profitable / windows.size();
+        this.worstDrawdown = worst;
+        this.totalTrades = trades;
+    }
+
+    public List<WalkForwardWindow> getWindows() { return windows; }
+    public double getCompoundedReturn() { return compoundedReturn; }
+    public double getAverageReturn() { return averageReturn; }
+    public double getProfitableWindows() { return profitableWindows; }
+    public double getWorstDrawdown() { return worstDrawdown; }
+    public int getTotalTrades() { return totalTrades; }
+
+    /**
+     * Prints one row per window followed by the aggregate metrics.
+     */
+    public void print() {
+        System.out.printf("%-4s | %-10s | %-10s | %5s | %5s | %9s | %9s | %6s | %7s%n",
+                "#", "Test From", "Test To", "Short", "Long", "Train %", "Test %", "Trades", "Max DD%");
+        for (int i = 0; i < windows.size(); i++) {
+            WalkForwardWindow w = windows.get(i);
+            System.out.printf("%-4d | %-10s | %-10s | %5d | %5d | %9.2f | %9.2f | %6d | %7.2f%n",
+                    i + 1, w.getTestStartDate(), w.getTestEndDate(), w.getBestInSample().getShortPeriod(),
+                    w.getBestInSample().getLongPeriod(), w.getBestInSample().getMetrics().getTotalReturn(),
+                    w.getOutOfSample().getTotalReturn(), w.getOutOfSample().getTotalTrades(),
+                    w.getOutOfSample().getMaxDrawdown() * 100);
+        }
+        System.out.println("\n--- Walk-Forward Summary (out of sample) ---");
+        System.out.printf("Windows: %d | Profitable: %.2f%% | Trades: %d%n", windows.size(), profitableWindows, totalTrades);
+        System.out.printf("Compounded Return: %.2f%% | Average Window Return: %.2f%% | Worst Max Drawdown: %.2f%%%n",
+                compoundedReturn, averageReturn, worstDrawdown * 100);
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.engine;
+
+import org.example.indicators.IndicatorCache;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.utils.ResultCache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Walk-forward analysis of MovingAverageStrategy.
+ *
+ * Slides train/test windows over one shared series. For each window the parameter grid is swept on the
+ * training bars, and the best combination is then run on the test bars that follow.
+ *
+ * Indicators are computed once over the whole series in an {@link IndicatorCache}, and every window reads
+ * its slice of them. Overlapping windows therefore share that work, and a test window's averages carry
+ * over from the bars before it instead of warming up again. Windows run in parallel on one fork-join pool,
+ * together with the sweeps inside them.
+ */
+public class WalkForwardRunner {
+    private final ParameterSweep sweep;
+    private final int trainBars;
+    private final int testBars;
+    private final int stepBars;
+    private final double initialBalance;
+    private final int parallelism;
+
+    /**
+     * @param grid The parameter values to choose from in each training window.
+     * @param initialBalance The starting balance of every train and test run.
+     * @param trainBars The length of each training window.
+     * @param testBars The length of each test window.
+     * @param stepBars How far each window moves forward from the previous one (testBars for non-overlapping tests).
+     */
+    public WalkForwardRunner(SweepGrid grid, double initialBalance, int trainBars, int testBars, int stepBars) {
+        if (trainBars <= 0 || testBars <= 0 || stepBars <= 0) {
+            throw new IllegalArgumentException("Window lengths and step must be positive");
+        }
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.sweep = new ParameterSweep(grid, initialBalance, parallelism);
+        this.initialBalance = initialBalance;
+        this.trainBars = trainBars;
+        this.testBars = testBars;
+        this.stepBars = stepBars;
+    }
+
+    /**
+     * Sets a cache for the in-sample and out-of-sample runs, so overlapping analyses of the same data reuse them
+     * (none by default).
+     */
+    public void setResultCache(ResultCache resultCache) {
+        sweep.setResultCache(resultCache);
+    }
+
+    /**
+     * Sets the commissions and fill prices of the in-sample and out-of-sample runs (free by default).
+     */
+    public void setTradingCosts(CostModel costModel, FillModel fillModel) {
+        sweep.setTradingCosts(costModel, fillModel);
+    }
+
+    /**
+     * Runs the analysis, choosing each window's parameters by in-sample total return.
+     */
+    public WalkForwardResult run(PriceSeries marketData) {
+        return run(marketData, SweepResult.BY_TOTAL_RETURN);
+    }
+
+    /**
+     * Runs the analysis over every window that fits in the series.
+     *
+     * @param marketData The full price series.
+     * @param ranking How the best in-sample combination is chosen.
+     * @return Per-window and aggregate out-of-sample results, windows in chronological order.
+     */
+    public WalkForwardResult run(PriceSeries marketData, Comparator<SweepResult> ranking) {
+        int span = trainBars + testBars; // No window fits a series shorter than this
+        int windowCount = marketData.size() < span ? 0 : (marketData.size() - span) / stepBars + 1;
+        IndicatorCache indicators = new IndicatorCache(marketData);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<WalkForwardWindow> windows = pool.submit(() -> {
+                sweep.precompute(indicators);
+                return IntStream.range(0, windowCount).parallel()
+                        .mapToObj(w -> runWindow(indicators, w * stepBars, ranking))
+                        .toList();
+            }).get();
+            return new WalkForwardResult(windows);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Walk-forward run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Walk-forward run failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private WalkForwardWindow runWindow(IndicatorCache indicators, int trainFrom, Comparator<SweepResult> ranking) {
+        int testFrom = trainFrom + trainBars;
+        int testTo = testFrom + testBars;
+        List<SweepResult> inSample = sweep.evaluate(indicators, trainFrom, testFrom, ranking);
+        if (inSample.isEmpty()) {
+            throw new IllegalStateException("The parameter grid has no valid combination");
+        }
+        SweepResult best = inSample.get(0);
+
+        PriceSeries test = indicators.getSeries().slice(testFrom, testTo);
+        MovingAverageStrategy strategy = new MovingAverageStrategy(best.getShortPeriod(), best.getLongPeriod(),
+                initialBalance, best.getRiskPerTrade(), best.getStopLossPercent(), best.getTakeProfitPercent());
+        strategy.setTradingCosts(sweep.getCostModel(), sweep.getFillModel());
+        PerformanceMetrics outOfSample = ParameterSweep.evaluate(strategy, indicators, test, testFrom,
+                sweep.getResultCache()).getMetrics();
+
+        return new WalkForwardWindow(trainFrom, testFrom, testTo, test.getTimestamp(0), test.getTimestamp(test.size() - 1),
+                best, outOfSample);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.engine;
+
+import org.example.models.PerformanceMetrics;
+import org.example.utils.DateUtils;
+
+/**
+ * One train/test window of a walk-forward analysis: the parameters chosen on the training bars
+ * and how they performed on the following, unseen test bars.
+ */
+public class WalkForwardWindow {
+    private final int trainFrom; // First training bar (inclusive)
+    private final int testFrom; // First test bar; also the end of the training bars
+    private final int testTo; // End of the test bars (exclusive)
+    private final long testStartTimestamp; // Epoch milliseconds of the first test bar
+    private final long testEndTimestamp; // Epoch milliseconds of the last test bar
+    private final SweepResult bestInSample; // Best combination on the training bars
+    private final PerformanceMetrics outOfSample; // That combination's metrics on the test bars
+
+    public WalkForwardWindow(int trainFrom, int testFrom, int testTo, long testStartTimestamp, long testEndTimestamp,
+                             SweepResult bestInSample, PerformanceMetrics outOfSample) {
+        this.trainFrom = trainFrom;
+        this.testFrom = testFrom;
+        this.testTo = testTo;
+        this.testStartTimestamp = testStartTimestamp;
+        this.testEndTimestamp = testEndTimestamp;
+        this.bestInSample = bestInSample;
+        this.outOfSample = outOfSample;
+    }
+
+    public int getTrainFrom() { return trainFrom; }
+    public int getTestFrom() { return testFrom; }
+    public int getTestTo() { return testTo; }
+    public long getTestStartTimestamp() { return testStartTimestamp; }
+    public long getTestEndTimestamp() { return testEndTimestamp; }
+    public String getTestStartDate() { return DateUtils.format(testStartTimestamp); }
+    public String getTestEndDate() { return DateUtils.format(testEndTimestamp); }
+    public SweepResult getBestInSample() { return bestInSample; }
+    public PerformanceMetrics getOutOfSample() { return outOfSample; }
+}
@@ -0,0 +1,66 @@
+package org.example.indicators;
+
+/**
+ * Average True Range using Wilder's smoothing.
+ * When only closing prices are available, pass the close as high, low and close;
+ * the true range then reduces to the absolute close-to-close change.
+ */
+public final class AverageTrueRange implements Indicator {
+    private final int period;
+    private double previousClose = Double.NaN;
+    private int count = 0; // True ranges seen, capped at period
+    private double value = Double.NaN;
+    private double seedSum = 0; // Sum of the warm-up true ranges
+
+    /**
+     * @param period The ATR period (commonly 14).
+     */
+    public AverageTrueRange(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("ATR period must be positive: " + period);
+        }
+        this.period = period;
+    }
+
+    /**
+     * Adds the next bar.
+     *
+     * @param high The bar's high.
+     * @param low The bar's low.
+     * @param close The bar's close.
+     * @return The current ATR, or NaN until {@code period} bars have been seen.
+     */
+    public double update(double high, double low, double close) {
+        double trueRange = high - low;
+        if (!Double.isNaN(previousClose)) {
+            trueRange = Math.max(trueRange, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        }
+        previousClose = close;
+
+        if (count < period) {
+            seedSum += trueRange;
+            if (++count == period) {
+                value = seedSum / period;
+            }
+        } else {
+            value = (value * (period - 1) + trueRange) / period;
+        }
+        return value;
+    }
+
+    public int getPeriod() { return period; }
+
+    @Override
+    public boolean isReady() { return count == period; }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public void reset() {
+        previousClose = Double.NaN;
+        count = 0;
+        seedSum = 0;
+        value = Double.NaN;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.indicators;
+
+/**
+ * Bollinger Bands: a rolling mean with bands a fixed number of standard deviations above and below it.
+ * {@link #value()} returns the middle band.
+ */
+public final class BollingerBands implements Indicator {
+    private final RollingStandardDeviation stdDev;
+    private final double width; // Number of standard deviations between the middle and outer bands
+    private double middle = Double.NaN;
+    private double upper = Double.NaN;
+    private double lower = Double.NaN;
+
+    /**
+     * @param period The number of bars in the window (commonly 20).
+     * @param width The number of standard deviations for the outer bands (commonly 2.0).
+     */
+    public BollingerBands(int period, double width) {
+        this.stdDev = new RollingStandardDeviation(period);
+        this.width = width;
+    }
+
+    /**
+     * Adds the next price and recomputes the bands.
+     *
+     * @param price The newest price.
+     * @return The middle band, or NaN until the window is full.
+     */
+    public double update(double price) {
+        double sd = stdDev.update(price);
+        if (stdDev.isReady()) {
+            middle = stdDev.mean();
+            upper = middle + width * sd;
+            lower = middle - width * sd;
+        }
+        return middle;
+    }
+
+    public double getUpper() { return upper; }
+    public double getMiddle() { return middle; }
+    public double getLower() { return lower; }
+    public double getStandardDeviation() { return stdDev.value(); }
+
+    @Override
+    public boolean isReady() { return stdDev.isReady(); }
+
+    @Override
+    public double value() { return middle; }
+
+    @Override
+    public void reset() {
+        stdDev.reset();
+        middle = Double.NaN;
+        upper = Double.NaN;
+        lower = Double.NaN;
+    }
+}
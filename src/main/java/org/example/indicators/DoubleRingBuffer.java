@@ -0,0 +1,67 @@
+package org.example.indicators;
+
+/**
+ * Fixed-capacity ring buffer of primitive doubles.
+ * Used by the rolling-window indicators to remember the values that fall out of the window
+ * without boxing or allocating on every update.
+ */
+public final class DoubleRingBuffer {
+    private final double[] values; // Backing storage, reused for the lifetime of the buffer
+    private int head = 0; // Index of the next slot to be written
+    private int size = 0; // Number of values currently held
+
+    /**
+     * Creates an empty ring buffer.
+     *
+     * @param capacity The maximum number of values held before the oldest is overwritten.
+     */
+    public DoubleRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Appends a value, overwriting the oldest one once the buffer is full.
+     *
+     * @param value The value to append.
+     * @return The value that was evicted, or 0.0 if the buffer was not yet full.
+     */
+    public double push(double value) {
+        double evicted = values[head];
+        values[head] = value;
+        head = (head + 1 == values.length) ? 0 : head + 1;
+        if (size < values.length) {
+            size++;
+            return 0.0;
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns a value by age.
+     *
+     * @param age 0 for the most recent value, 1 for the one before it, and so on.
+     * @return The stored value.
+     */
+    public double get(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("Age " + age + " outside buffer of size " + size);
+        }
+        int index = head - 1 - age;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    public boolean isFull() { return size == values.length; }
+    public int size() { return size; }
+    public int capacity() { return values.length; }
+
+    /**
+     * Empties the buffer without releasing its storage.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+}
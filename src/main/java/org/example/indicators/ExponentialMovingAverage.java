@@ -0,0 +1,57 @@
+package org.example.indicators;
+
+/**
+ * Exponential moving average with smoothing factor {@code 2 / (period + 1)}.
+ * The first value is seeded with the simple average of the first {@code period} prices.
+ */
+public final class ExponentialMovingAverage implements Indicator {
+    private final int period;
+    private final double alpha; // Weight given to the newest price
+    private int count = 0; // Prices seen so far, capped at period
+    private double seedSum = 0; // Sum of the warm-up prices
+    private double value = Double.NaN;
+
+    /**
+     * @param period The EMA period.
+     */
+    public ExponentialMovingAverage(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("EMA period must be positive: " + period);
+        }
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    /**
+     * Adds the next price.
+     *
+     * @param price The newest price.
+     * @return The current EMA, or NaN until {@code period} prices have been seen.
+     */
+    public double update(double price) {
+        if (count < period) {
+            seedSum += price;
+            if (++count == period) {
+                value = seedSum / period;
+            }
+        } else {
+            value += alpha * (price - value);
+        }
+        return value;
+    }
+
+    public int getPeriod() { return period; }
+
+    @Override
+    public boolean isReady() { return count == period; }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public void reset() {
+        count = 0;
+        seedSum = 0;
+        value = Double.NaN;
+    }
+}
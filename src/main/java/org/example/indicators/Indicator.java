@@ -0,0 +1,23 @@
+package org.example.indicators;
+
+/**
+ * Common view of a streaming indicator.
+ * Implementations update in O(1) per bar and never allocate after construction.
+ */
+public interface Indicator {
+
+    /**
+     * @return True once enough bars have been seen for {@link #value()} to be meaningful.
+     */
+    boolean isReady();
+
+    /**
+     * @return The latest indicator value, or {@code Double.NaN} while the indicator is warming up.
+     */
+    double value();
+
+    /**
+     * Clears all accumulated state so the instance can be reused on another series.
+     */
+    void reset();
+}
@@ -0,0 +1,54 @@
+package org.example.indicators;
+
+import org.example.models.PriceSeries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe cache of full-length indicator series for one price series.
+ * Many strategy instances that share a parameter (e.g. the same SMA period across a parameter sweep)
+ * read the same precomputed array instead of each recomputing it.
+ */
+public final class IndicatorCache {
+    private final PriceSeries series;
+    private final Map<Integer, double[]> smaByPeriod = new ConcurrentHashMap<>();
+
+    /**
+     * @param series The price series the indicators are computed over.
+     */
+    public IndicatorCache(PriceSeries series) {
+        this.series = series;
+    }
+
+    /**
+     * Returns the simple moving average of the close for every bar, computing it on first use.
+     * The returned array is shared and must not be modified.
+     *
+     * @param period The SMA period.
+     * @return One value per bar; NaN until {@code period} bars have been seen.
+     */
+    public double[] sma(int period) {
+        return smaByPeriod.computeIfAbsent(period, p -> computeSma(series, p));
+    }
+
+    /**
+     * Computes the simple moving average of the close for every bar of a series.
+     *
+     * @param series The price series.
+     * @param period The SMA period.
+     * @return One value per bar; NaN until {@code period} bars have been seen.
+     */
+    public static double[] computeSma(PriceSeries series, int period) {
+        SimpleMovingAverage sma = new SimpleMovingAverage(period);
+        double[] values = new double[series.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = sma.update(series.getClose(i));
+        }
+        return values;
+    }
+
+    public PriceSeries getSeries() {
+        return series;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.indicators;
+
+/**
+ * Relative Strength Index using Wilder's smoothing.
+ * The first average gain/loss is the simple mean of the first {@code period} price changes,
+ * after which each new change is blended in with weight {@code 1 / period}.
+ */
+public final class RelativeStrengthIndex implements Indicator {
+    private final int period;
+    private double previousPrice = Double.NaN;
+    private int changes = 0; // Number of price changes seen, capped at period
+    private double avgGain = 0;
+    private double avgLoss = 0;
+    private double value = Double.NaN;
+
+    /**
+     * @param period The RSI period (commonly 14).
+     */
+    public RelativeStrengthIndex(int period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("RSI period must be positive: " + period);
+        }
+        this.period = period;
+    }
+
+    /**
+     * Adds the next price.
+     *
+     * @param price The newest price.
+     * @return The RSI in the range [0, 100], or NaN until {@code period + 1} prices have been seen.
+     */
+    public double update(double price) {
+        if (Double.isNaN(previousPrice)) {
+            previousPrice = price;
+            return value;
+        }
+        double change = price - previousPrice;
+        previousPrice = price;
+        double gain = Math.max(change, 0);
+        double loss = Math.max(-change, 0);
+
+        if (changes < period) {
+            avgGain += gain / period;
+            avgLoss += loss / period;
+            if (++changes < period) {
+                return value;
+            }
+        } else {
+            avgGain = (avgGain * (period - 1) + gain) / period;
+            avgLoss = (avgLoss * (period - 1) + loss) / period;
+        }
+
+        if (avgLoss == 0) {
+            value = (avgGain == 0) ? 50.0 : 100.0;
+        } else {
+            value = 100.0 - 100.0 / (1.0 + avgGain / avgLoss);
+        }
+        return value;
+    }
+
+    public int getPeriod() { return period; }
+
+    @Override
+    public boolean isReady() { return changes == period; }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public void reset() {
+        previousPrice = Double.NaN;
+        changes = 0;
+        avgGain = 0;
+        avgLoss = 0;
+        value = Double.NaN;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.indicators;
+
+/**
+ * Rolling population standard deviation over a fixed window.
+ * Uses the sliding-window form of Welford's update, which avoids the catastrophic cancellation
+ * of the naive sum-of-squares formula when prices are large and the variance is small.
+ */
+public final class RollingStandardDeviation implements Indicator {
+    private final int period;
+    private final DoubleRingBuffer window;
+    private double mean = 0; // Mean of the values in the window
+    private double m2 = 0; // Sum of squared deviations from the mean
+    private double value = Double.NaN;
+
+    /**
+     * @param period The number of bars in the window.
+     */
+    public RollingStandardDeviation(int period) {
+        this.period = period;
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * Adds the next price to the window.
+     *
+     * @param price The newest price.
+     * @return The standard deviation of the window, or NaN until the window is full.
+     */
+    public double update(double price) {
+        if (window.isFull()) {
+            double evicted = window.push(price);
+            double oldMean = mean;
+            mean += (price - evicted) / period;
+            m2 += (price - evicted) * (price - mean + evicted - oldMean);
+        } else {
+            window.push(price);
+            double delta = price - mean;
+            mean += delta / window.size();
+            m2 += delta * (price - mean);
+        }
+        value = window.isFull() ? Math.sqrt(Math.max(m2, 0) / period) : Double.NaN;
+        return value;
+    }
+
+    /**
+     * @return The mean of the current window (valid once the indicator is ready).
+     */
+    public double mean() { return mean; }
+
+    public int getPeriod() { return period; }
+
+    @Override
+    public boolean isReady() { return window.isFull(); }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public void reset() {
+        window.clear();
+        mean = 0;
+        m2 = 0;
+        value = Double.NaN;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.indicators;
+
+/**
+ * Rolling simple moving average.
+ * Keeps a compensated running sum of the window so each update is O(1) regardless of the period,
+ * while the rounding error stays bounded over very long series.
+ */
+public final class SimpleMovingAverage implements Indicator {
+    private final int period;
+    private final DoubleRingBuffer window;
+    private double sum = 0; // Running sum of the values in the window
+    private double compensation = 0; // Low-order bits lost from sum (Neumaier summation)
+    private double value = Double.NaN;
+
+    /**
+     * @param period The number of bars in the averaging window.
+     */
+    public SimpleMovingAverage(int period) {
+        this.period = period;
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * Adds the next price to the window.
+     *
+     * @param price The newest price.
+     * @return The average over the last {@code period} prices, or NaN until the window is full.
+     */
+    public double update(double price) {
+        boolean full = window.isFull();
+        double evicted = window.push(price);
+        add(price);
+        if (full) {
+            add(-evicted);
+        }
+        value = window.isFull() ? (sum + compensation) / period : Double.NaN;
+        return value;
+    }
+
+    private void add(double x) {
+        double t = sum + x;
+        if (Math.abs(sum) >= Math.abs(x)) {
+            compensation += (sum - t) + x;
+        } else {
+            compensation += (x - t) + sum;
+        }
+        sum = t;
+    }
+
+    public int getPeriod() { return period; }
+
+    @Override
+    public boolean isReady() { return window.isFull(); }
+
+    @Override
+    public double value() { return value; }
+
+    @Override
+    public void reset() {
+        window.clear();
+        sum = 0;
+        compensation = 0;
+        value = Double.NaN;
+    }
+}
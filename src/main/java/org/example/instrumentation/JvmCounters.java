@@ -0,0 +1,55 @@
+package org.example.instrumentation;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * A snapshot of the JVM counters a phase is measured with: wall clock, the calling thread's CPU time and
+ * allocated bytes (through {@link ThreadMXBean}), and the collection count and time summed over every garbage
+ * collector. Counters the JVM does not support read as -1.
+ */
+final class JvmCounters {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+            THREADS instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()
+                    ? hotspot : null;
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    final long nanos;
+    final long cpuNanos;
+    final long allocatedBytes;
+    final long gcCount;
+    final long gcMillis;
+
+    private JvmCounters(long nanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis) {
+        this.nanos = nanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+    }
+
+    /**
+     * @return The counters as of now, for the calling thread.
+     */
+    static JvmCounters now() {
+        long cpu = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        long allocated = HOTSPOT_THREADS != null ? HOTSPOT_THREADS.getCurrentThreadAllocatedBytes() : -1;
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new JvmCounters(System.nanoTime(), cpu, allocated, count, millis);
+    }
+
+    /**
+     * @return The difference between two readings of a counter, or -1 if the counter is unsupported.
+     */
+    static long delta(long start, long end) {
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+}
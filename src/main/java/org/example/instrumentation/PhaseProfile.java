@@ -0,0 +1,42 @@
+package org.example.instrumentation;
+
+/**
+ * What one phase of a run cost: wall and CPU time, bytes allocated by the running thread, and the garbage
+ * collections that happened meanwhile. Phases that process a known number of items (e.g. bars) also report
+ * their throughput. Counters the JVM does not support are -1.
+ */
+public class PhaseProfile {
+    private final String name;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+    private final long gcCount; // Collections by any collector during the phase
+    private final long gcMillis; // Approximate collection time (pause time for stop-the-world collectors)
+    private final long items; // Items processed, or 0 if not counted
+
+    public PhaseProfile(String name, long wallNanos, long cpuNanos, long allocatedBytes, long gcCount, long gcMillis,
+                        long items) {
+        this.name = name;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.items = items;
+    }
+
+    public String getName() { return name; }
+    public double getWallMillis() { return wallNanos / 1e6; }
+    public double getCpuMillis() { return cpuNanos < 0 ? -1 : cpuNanos / 1e6; }
+    public long getAllocatedBytes() { return allocatedBytes; }
+    public long getGcCount() { return gcCount; }
+    public long getGcMillis() { return gcMillis; }
+    public long getItems() { return items; }
+
+    /**
+     * @return Items processed per second of wall time, or 0 if the phase did not count items.
+     */
+    public double getItemsPerSecond() {
+        return items > 0 && wallNanos > 0 ? items * 1e9 / wallNanos : 0;
+    }
+}
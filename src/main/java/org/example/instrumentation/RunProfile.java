@@ -0,0 +1,108 @@
+package org.example.instrumentation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The measured cost of one run, as produced by {@link RunProfiler#finish()}: totals, one {@link PhaseProfile} per
+ * phase, and the heap in use at the end. Serialises to JSON through its getters, so profiles from many runs can be
+ * collected and compared over time.
+ */
+public class RunProfile {
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String runName;
+    private final long startedAtMillis;
+    private final PhaseProfile total;
+    private final List<PhaseProfile> phases;
+    private final long heapUsedBytes; // Heap in use when the run finished
+    private final int availableProcessors;
+    private final String javaVersion;
+
+    public RunProfile(String runName, long startedAtMillis, PhaseProfile total, List<PhaseProfile> phases,
+                      long heapUsedBytes, int availableProcessors, String javaVersion) {
+        this.runName = runName;
+        this.startedAtMillis = startedAtMillis;
+        this.total = total;
+        this.phases = phases;
+        this.heapUsedBytes = heapUsedBytes;
+        this.availableProcessors = availableProcessors;
+        this.javaVersion = javaVersion;
+    }
+
+    public String getRunName() { return runName; }
+    public String getStartedAt() { return Instant.ofEpochMilli(startedAtMillis).toString(); }
+    public PhaseProfile getTotal() { return total; }
+    public List<PhaseProfile> getPhases() { return phases; }
+    public long getHeapUsedBytes() { return heapUsedBytes; }
+    public int getAvailableProcessors() { return availableProcessors; }
+    public String getJavaVersion() { return javaVersion; }
+
+    /**
+     * @return The phase with the given name, or null if there is none.
+     */
+    public PhaseProfile phase(String name) {
+        for (PhaseProfile phase : phases) {
+            if (phase.getName().equals(name)) {
+                return phase;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The profile as an indented JSON document.
+     */
+    public String toJson() {
+        try {
+            return JSON.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Run profile is not serialisable: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the profile as JSON, creating missing directories.
+     *
+     * @param filePath The file to write.
+     */
+    public void writeJson(Path filePath) {
+        try {
+            if (filePath.getParent() != null) {
+                Files.createDirectories(filePath.getParent());
+            }
+            Files.writeString(filePath, toJson());
+            System.out.println("Run profile successfully saved to: " + filePath);
+        } catch (IOException e) {
+            System.err.println("Error writing run profile: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prints one row per phase followed by the totals.
+     */
+    public void print() {
+        System.out.println("\n--- Run Profile ---");
+        System.out.printf("%-12s | %10s | %10s | %12s | %4s | %6s | %14s%n",
+                "Phase", "Wall ms", "CPU ms", "Allocated KB", "GCs", "GC ms", "Items/s");
+        for (PhaseProfile phase : phases) {
+            printRow(phase.getName(), phase);
+        }
+        printRow("total", total);
+        System.out.printf("Heap used: %.1f MB%n", heapUsedBytes / 1048576.0);
+    }
+
+    private static void printRow(String label, PhaseProfile phase) {
+        System.out.printf("%-12s | %10.2f | %10.2f | %12.1f | %4d | %6d | %14s%n",
+                label, phase.getWallMillis(), phase.getCpuMillis(),
+                phase.getAllocatedBytes() < 0 ? -1 : phase.getAllocatedBytes() / 1024.0, phase.getGcCount(),
+                phase.getGcMillis(), phase.getItems() > 0 ? String.format("%,.0f", phase.getItemsPerSecond()) : "");
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the phases of a backtest run (loading, indicators, the simulation loop, output, ...).
+ *
+ * Each phase is a try-with-resources block; its wall time, CPU time, allocated bytes and garbage collections are
+ * read from the JVM's management beans when the block opens and closes. Timing and allocation refer to the
+ * thread that opened the phase, so work handed to other threads shows up only in the wall time and GC counts.
+ *
+ * <pre>{@code
+ * RunProfiler profiler = new RunProfiler("backtest");
+ * try (RunProfiler.Phase phase = profiler.phase("simulation")) {
+ *     strategy.run(marketData);
+ *     phase.setItems(marketData.size()); // Reported as bars per second
+ * }
+ * RunProfile profile = profiler.finish();
+ * }</pre>
+ */
+public class RunProfiler {
+    private final String runName;
+    private final long startedAtMillis;
+    private final JvmCounters start;
+    private final List<PhaseProfile> phases = new ArrayList<>();
+
+    /**
+     * Starts profiling a run.
+     *
+     * @param runName A name identifying the run in the profile.
+     */
+    public RunProfiler(String runName) {
+        this.runName = runName;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.start = JvmCounters.now();
+    }
+
+    /**
+     * Opens a phase, measured until the returned handle is closed.
+     *
+     * @param name The phase name.
+     * @return The phase handle.
+     */
+    public Phase phase(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Ends the run.
+     *
+     * @return The profile of the run and of every phase closed so far, in the order they were opened.
+     */
+    public RunProfile finish() {
+        PhaseProfile total = measure(runName, start, JvmCounters.now(), 0);
+        Runtime runtime = Runtime.getRuntime();
+        return new RunProfile(runName, startedAtMillis, total, List.copyOf(phases),
+                runtime.totalMemory() - runtime.freeMemory(), runtime.availableProcessors(),
+                System.getProperty("java.version"));
+    }
+
+    private static PhaseProfile measure(String name, JvmCounters from, JvmCounters to, long items) {
+        return new PhaseProfile(name, to.nanos - from.nanos, JvmCounters.delta(from.cpuNanos, to.cpuNanos),
+                JvmCounters.delta(from.allocatedBytes, to.allocatedBytes), to.gcCount - from.gcCount,
+                to.gcMillis - from.gcMillis, items);
+    }
+
+    /**
+     * An open phase of a run.
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final JvmCounters start;
+        private long items = 0;
+        private boolean closed = false;
+
+        private Phase(String name) {
+            this.name = name;
+            this.start = JvmCounters.now();
+        }
+
+        /**
+         * Sets the number of items (bars, trades, ...) the phase processed, to report its throughput.
+         */
+        public void setItems(long items) {
+            this.items = items;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                phases.add(measure(name, start, JvmCounters.now(), items));
+            }
+        }
+    }
+}
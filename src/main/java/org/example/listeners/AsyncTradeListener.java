@@ -0,0 +1,143 @@
+package org.example.listeners;
+
+import org.example.models.BacktestResult;
+import org.example.models.Trade;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands trades to a slower listener on a background thread.
+ *
+ * Backtest threads publish into a bounded ring buffer (safe for several concurrent runs) and return
+ * immediately; a single daemon thread drains the buffer and passes the trades to the delegate in
+ * batches through {@link TradeListener#onTrades}. Publishing only waits when the buffer is full, so no
+ * trade is ever dropped. {@link #close()} drains the remaining trades and closes the delegate.
+ */
+public class AsyncTradeListener implements TradeListener {
+    private static final long IDLE_PARK_NANOS = 50_000;
+
+    private final TradeListener delegate;
+    private final Trade[] buffer;
+    private final AtomicLongArray published; // Sequence number last published into each slot
+    private final int mask;
+    private final int maxBatch;
+    private final AtomicLong claimed = new AtomicLong(); // Next sequence a producer will claim
+    private volatile long consumed = 0; // Next sequence the drain thread will read
+    private volatile boolean running = true;
+    private final Thread drainThread;
+
+    /**
+     * Creates a listener with a 64k-slot buffer and batches of up to 1024 trades.
+     */
+    public AsyncTradeListener(TradeListener delegate) {
+        this(delegate, 1 << 16, 1024);
+    }
+
+    /**
+     * @param delegate The listener that receives the trades on the background thread.
+     * @param capacity The ring buffer size (rounded up to a power of two).
+     * @param maxBatch The largest batch handed to the delegate at once.
+     */
+    public AsyncTradeListener(TradeListener delegate, int capacity, int maxBatch) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.delegate = delegate;
+        this.buffer = new Trade[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        this.mask = size - 1;
+        this.maxBatch = maxBatch;
+        this.drainThread = new Thread(this::drain, "trade-listener-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    /**
+     * Publishes a trade for the drain thread.
+     *
+     * @throws IllegalStateException If the listener was closed or its drain thread died, since the trade could
+     *                               never reach the delegate (and a full buffer would never empty).
+     */
+    @Override
+    public void onTrade(Trade trade) {
+        checkDraining();
+        long sequence = claimed.getAndIncrement();
+        while (sequence - consumed >= buffer.length) {
+            checkDraining();
+            LockSupport.parkNanos(IDLE_PARK_NANOS); // Buffer full: wait for the drain thread to catch up
+        }
+        int slot = (int) sequence & mask;
+        buffer[slot] = trade;
+        published.lazySet(slot, sequence); // Release: the trade is visible before the slot is marked published
+    }
+
+    /**
+     * Waits for the trades published so far to reach the delegate, then forwards the completion event.
+     */
+    @Override
+    public void onRunComplete(BacktestResult result) {
+        awaitDrained(claimed.get());
+        synchronized (delegate) {
+            delegate.onRunComplete(result);
+        }
+    }
+
+    @Override
+    public void close() {
+        awaitDrained(claimed.get());
+        running = false;
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    private void checkDraining() {
+        if (!running || !drainThread.isAlive()) {
+            throw new IllegalStateException("Trade listener is closed or its drain thread has stopped");
+        }
+    }
+
+    private void awaitDrained(long sequence) {
+        while (consumed < sequence && drainThread.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void drain() {
+        List<Trade> batch = new ArrayList<>(maxBatch);
+        long next = consumed;
+        while (running || published.get((int) next & mask) == next) {
+            while (batch.size() < maxBatch) {
+                int slot = (int) next & mask;
+                if (published.get(slot) != next) {
+                    break;
+                }
+                batch.add(buffer[slot]);
+                buffer[slot] = null;
+                next++;
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                synchronized (delegate) {
+                    delegate.onTrades(batch);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Trade listener failed: " + e.getMessage());
+            }
+            batch.clear();
+            consumed = next; // Frees the drained slots for producers
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.listeners;
+
+import org.example.models.Trade;
+import org.example.utils.TradeBinaryWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Streams trades to a block-columnar binary file as they happen (see {@link TradeBinaryWriter}).
+ * Suited to sweeps and long runs that produce millions of trades.
+ */
+public class BinaryTradeListener implements TradeListener {
+    private final TradeBinaryWriter writer;
+
+    /**
+     * Creates (or truncates) the output file.
+     *
+     * @param filePath The file to write; missing parent directories are created.
+     * @throws IOException If the file cannot be created.
+     */
+    public BinaryTradeListener(Path filePath) throws IOException {
+        this.writer = new TradeBinaryWriter(filePath);
+    }
+
+    @Override
+    public void onTrade(Trade trade) {
+        try {
+            writer.write(trade);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing trade to file", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Error closing trade file: " + e.getMessage());
+        }
+    }
+}
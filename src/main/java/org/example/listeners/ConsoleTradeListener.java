@@ -0,0 +1,42 @@
+package org.example.listeners;
+
+import org.example.models.BacktestResult;
+import org.example.models.PerformanceMetrics;
+import org.example.models.Trade;
+
+/**
+ * Prints each trade and the final performance summary to standard output.
+ */
+public class ConsoleTradeListener implements TradeListener {
+
+    @Override
+    public void onTrade(Trade trade) {
+        String prefix = trade.getSymbol() == null ? "" : "[" + trade.getSymbol() + "] ";
+        if (trade.getType().equals("BUY")) {
+            System.out.printf("%sBUY %.2f units at %.2f on %s | SL: %.2f | TP: %.2f | Balance: %.2f%n",
+                    prefix, trade.getPositionSize(), trade.getPrice(), trade.getDate(),
+                    trade.getStopLossPrice(), trade.getTakeProfitPrice(), trade.getBalanceAfterTrade());
+        } else {
+            System.out.printf("%s%s %.2f units at %.2f on %s | Profit: %.2f | Balance: %.2f%n",
+                    prefix, trade.getType(), trade.getPositionSize(), trade.getPrice(), trade.getDate(),
+                    trade.getProfit(), trade.getBalanceAfterTrade());
+        }
+    }
+
+    @Override
+    public void onRunComplete(BacktestResult result) {
+        PerformanceMetrics metrics = result.getMetrics();
+        System.out.println("\n--- Performance Summary ---");
+        System.out.printf("Total Return: %.2f%% | Final Balance: %.2f%n", metrics.getTotalReturn(), metrics.getFinalBalance());
+        System.out.printf("Total Trades: %d | Win Rate: %.2f%%%n", metrics.getTotalTrades(), metrics.getWinRate());
+        System.out.printf("Annualized Return: %.2f%% | Volatility: %.2f%% | Exposure: %.2f%%%n",
+                metrics.getAnnualizedReturn() * 100, metrics.getVolatility() * 100, metrics.getExposure() * 100);
+        System.out.printf("Max Drawdown: %.2f%% | Longest Drawdown: %d bars%n",
+                metrics.getMaxDrawdown() * 100, metrics.getMaxDrawdownDuration());
+        System.out.printf("Profit Factor: %.2f | Sharpe Ratio: %.2f | Sortino Ratio: %.2f | Calmar Ratio: %.2f%n",
+                metrics.getProfitFactor(), metrics.getSharpeRatio(), metrics.getSortinoRatio(), metrics.getCalmarRatio());
+        if (metrics.getCommissions() > 0 || metrics.getSlippage() > 0) {
+            System.out.printf("Commissions: %.2f | Slippage: %.2f%n", metrics.getCommissions(), metrics.getSlippage());
+        }
+    }
+}
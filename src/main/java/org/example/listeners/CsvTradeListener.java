@@ -0,0 +1,44 @@
+package org.example.listeners;
+
+import org.example.models.Trade;
+import org.example.utils.TradeCsvWriter;
+import org.example.utils.TradeHistoryWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Streams trades to a CSV file as they happen, in the same format as {@link TradeHistoryWriter}.
+ */
+public class CsvTradeListener implements TradeListener {
+    private final TradeCsvWriter writer;
+
+    /**
+     * Creates (or truncates) the output file and writes the header row.
+     *
+     * @param filePath The CSV file to write; missing parent directories are created.
+     * @throws IOException If the file cannot be created.
+     */
+    public CsvTradeListener(Path filePath) throws IOException {
+        this.writer = new TradeCsvWriter(filePath);
+    }
+
+    @Override
+    public void onTrade(Trade trade) {
+        try {
+            writer.write(trade);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing trade to CSV", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Error closing trade CSV: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.listeners;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.models.BacktestResult;
+import org.example.models.Trade;
+
+/**
+ * Logs trades through log4j2, so output can be routed, filtered and made asynchronous by configuration.
+ * Messages are parameterised and only formatted when the level is enabled.
+ */
+public class Log4jTradeListener implements TradeListener {
+    private final Logger logger;
+    private final Level level;
+
+    /**
+     * Logs to the "org.example.trades" logger at INFO.
+     */
+    public Log4jTradeListener() {
+        this(LogManager.getLogger("org.example.trades"), Level.INFO);
+    }
+
+    /**
+     * @param logger The logger to write to.
+     * @param level The level trades are logged at.
+     */
+    public Log4jTradeListener(Logger logger, Level level) {
+        this.logger = logger;
+        this.level = level;
+    }
+
+    @Override
+    public void onTrade(Trade trade) {
+        if (logger.isEnabled(level)) {
+            logger.log(level, "{} {} {} qty={} price={} profit={} balance={}",
+                    trade.getSymbol() == null ? "-" : trade.getSymbol(), trade.getType(), trade.getDate(),
+                    trade.getPositionSize(), trade.getPrice(), trade.getProfit(), trade.getBalanceAfterTrade());
+        }
+    }
+
+    @Override
+    public void onRunComplete(BacktestResult result) {
+        logger.log(level, "Run complete: {}", result.getMetrics());
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.listeners;
+
+import org.example.models.Trade;
+
+/**
+ * The default listener: discards every event.
+ */
+final class NoOpTradeListener implements TradeListener {
+    static final NoOpTradeListener INSTANCE = new NoOpTradeListener();
+
+    private NoOpTradeListener() {
+    }
+
+    @Override
+    public void onTrade(Trade trade) {
+    }
+}
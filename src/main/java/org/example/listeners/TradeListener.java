@@ -0,0 +1,46 @@
+package org.example.listeners;
+
+import org.example.models.BacktestResult;
+import org.example.models.Trade;
+
+import java.util.List;
+
+/**
+ * Receives trade events from the backtest engine as they happen.
+ *
+ * The engine's default listener is {@link #NONE}, so backtests are silent unless a sink is opted in.
+ * Implementations are called on the thread running the backtest and should return quickly;
+ * wrap slow sinks in an {@link AsyncTradeListener}.
+ */
+public interface TradeListener extends AutoCloseable {
+
+    /** Listener that ignores every event. */
+    TradeListener NONE = NoOpTradeListener.INSTANCE;
+
+    /**
+     * Called for every executed trade, in execution order.
+     */
+    void onTrade(Trade trade);
+
+    /**
+     * Called with several trades at once by batching wrappers. Defaults to calling {@link #onTrade} for each.
+     */
+    default void onTrades(List<Trade> trades) {
+        for (Trade trade : trades) {
+            onTrade(trade);
+        }
+    }
+
+    /**
+     * Called once when a run finishes, after its last trade.
+     */
+    default void onRunComplete(BacktestResult result) {
+    }
+
+    /**
+     * Flushes and releases any resources held by the sink.
+     */
+    @Override
+    default void close() {
+    }
+}
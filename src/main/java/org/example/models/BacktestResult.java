@@ -0,0 +1,31 @@
+package org.example.models;
+
+import java.util.List;
+
+/**
+ * Everything a backtest run produces: the executed trades, the resulting performance metrics and,
+ * when the engine was asked to record it, the equity curve.
+ */
+public class BacktestResult {
+    private final List<Trade> tradeHistory;
+    private final PerformanceMetrics metrics;
+    private final EquityCurve equityCurve; // null unless recorded
+
+    public BacktestResult(List<Trade> tradeHistory, PerformanceMetrics metrics) {
+        this(tradeHistory, metrics, null);
+    }
+
+    public BacktestResult(List<Trade> tradeHistory, PerformanceMetrics metrics, EquityCurve equityCurve) {
+        this.tradeHistory = tradeHistory;
+        this.metrics = metrics;
+        this.equityCurve = equityCurve;
+    }
+
+    public List<Trade> getTradeHistory() { return tradeHistory; }
+    public PerformanceMetrics getMetrics() { return metrics; }
+
+    /**
+     * @return The per-bar equity curve, or null if the run did not record it.
+     */
+    public EquityCurve getEquityCurve() { return equityCurve; }
+}
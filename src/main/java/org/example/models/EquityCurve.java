@@ -0,0 +1,31 @@
+package org.example.models;
+
+/**
+ * The marked-to-market account equity of a run, one point per bar, in primitive arrays ready for plotting.
+ */
+public final class EquityCurve {
+    private final long[] timestamps; // Epoch milliseconds of each point
+    private final double[] equity; // Cash plus the value of open positions at each bar's close
+
+    /**
+     * @param timestamps The epoch-millisecond timestamp of each point.
+     * @param equity The equity at each point; must have the same length as {@code timestamps}.
+     */
+    public EquityCurve(long[] timestamps, double[] equity) {
+        if (timestamps.length != equity.length) {
+            throw new IllegalArgumentException("Timestamps and equity must have the same length");
+        }
+        this.timestamps = timestamps;
+        this.equity = equity;
+    }
+
+    public int size() { return equity.length; }
+    public long getTimestamp(int index) { return timestamps[index]; }
+    public double getEquity(int index) { return equity[index]; }
+
+    /** @return The backing timestamp array (not a copy). */
+    public long[] timestampArray() { return timestamps; }
+
+    /** @return The backing equity array (not a copy). */
+    public double[] equityArray() { return equity; }
+}
@@ -1,31 +1,66 @@
 package org.example.models;
 
+import org.example.utils.DateUtils;
+
 /**
  * Represents a single data point in the market dataset.
- * Each instance of this class holds a data and the corresponding closing price.
+ * Each instance of this class holds an epoch-millisecond timestamp and the bar's open, high, low and closing prices plus its volume.
+ * Close-only data points use the close for the open, high and low.
  */
 public class MarketDataPoint {
-    private final String date;  // The data of the market data point
+    private final long timestamp;  // The epoch milliseconds (UTC) of the market data point
+    private final double openPrice;  // The first traded price of the bar
+    private final double highPrice;  // The highest traded price of the bar
+    private final double lowPrice;  // The lowest traded price of the bar
     private final double closePrice;  // The closing price of the asset on that date
+    private final double volume;  // The traded volume (0 if unknown)
 
     /**
-     * Constructor to initialize the market data point.
+     * Constructor to initialize a close-only market data point.
      *
-     * @param date The data in String format.
+     * @param timestamp The epoch milliseconds (UTC), e.g. from {@link DateUtils#parseEpochMillis(String)}.
      * @param closePrice The closing price as a double.
      */
-    public MarketDataPoint(String date, double closePrice) {
-        this.date = date;
+    public MarketDataPoint(long timestamp, double closePrice) {
+        this(timestamp, closePrice, closePrice, closePrice, closePrice, 0);
+    }
+
+    /**
+     * Constructor to initialize an OHLCV market data point.
+     *
+     * @param timestamp The epoch milliseconds (UTC).
+     * @param openPrice The opening price.
+     * @param highPrice The highest price.
+     * @param lowPrice The lowest price.
+     * @param closePrice The closing price.
+     * @param volume The traded volume.
+     */
+    public MarketDataPoint(long timestamp, double openPrice, double highPrice, double lowPrice, double closePrice,
+                           double volume) {
+        this.timestamp = timestamp;
+        this.openPrice = openPrice;
+        this.highPrice = highPrice;
+        this.lowPrice = lowPrice;
         this.closePrice = closePrice;
+        this.volume = volume;
+    }
+
+    /**
+     * Gets the timestamp of this market data point.
+     *
+     * @return The epoch milliseconds (UTC).
+     */
+    public long getTimestamp() {
+        return timestamp;
     }
 
     /**
-     * Gets the date of this market data point.
+     * Formats the timestamp for display.
      *
      * @return The date as a String.
      */
     public String getDate() {
-        return date;
+        return DateUtils.format(timestamp);
     }
 
     /**
@@ -37,6 +72,18 @@ public class MarketDataPoint {
         return closePrice;
     }
 
+    public double getOpenPrice() { return openPrice; }
+    public double getHighPrice() { return highPrice; }
+    public double getLowPrice() { return lowPrice; }
+    public double getVolume() { return volume; }
+
+    /**
+     * @return True if the open, high or low differ from the close, i.e. the point carries a real price range.
+     */
+    public boolean hasOhlc() {
+        return openPrice != closePrice || highPrice != closePrice || lowPrice != closePrice;
+    }
+
     /**
      * Converts the object into a readable string format for debugging.
      *
@@ -44,6 +91,10 @@ public class MarketDataPoint {
      */
     @Override
     public String toString() {
-        return "MarketDataPoint [date=" + date + ", closePrice=" + closePrice + "]";
+        if (!hasOhlc() && volume == 0) {
+            return "MarketDataPoint [date=" + getDate() + ", closePrice=" + closePrice + "]";
+        }
+        return "MarketDataPoint [date=" + getDate() + ", open=" + openPrice + ", high=" + highPrice + ", low=" + lowPrice
+                + ", close=" + closePrice + ", volume=" + volume + "]";
     }
 }
@@ -0,0 +1,68 @@
+package org.example.models;
+
+/**
+ * Summary statistics of a finished backtest run.
+ * Risk metrics are computed from the per-bar equity curve (cash plus open positions at each close) and
+ * annualised with the bar frequency of the data.
+ */
+public class PerformanceMetrics {
+    private final double finalBalance; // Cash plus open positions valued at their latest close
+    private final double totalReturn; // Total return in percent of the initial balance
+    private final double annualizedReturn; // Compound annual growth rate, as a fraction
+    private final int totalTrades; // Number of closed trades
+    private final double winRate; // Percentage of closed trades with a profit
+    private final double profitFactor; // Gross profit divided by gross loss of the closed trades
+    private final double maxDrawdown; // Largest peak-to-trough equity decline, as a fraction
+    private final int maxDrawdownDuration; // Longest stretch below a previous equity peak, in bars
+    private final double volatility; // Annualised standard deviation of the per-bar returns
+    private final double sharpeRatio;
+    private final double sortinoRatio;
+    private final double calmarRatio;
+    private final double exposure; // Fraction of bars that ended with a position open
+    private final double commissions; // Total commission paid
+    private final double slippage; // Total cost of spread and market impact
+
+    public PerformanceMetrics(double finalBalance, double totalReturn, double annualizedReturn, int totalTrades,
+                              double winRate, double profitFactor, double maxDrawdown, int maxDrawdownDuration,
+                              double volatility, double sharpeRatio, double sortinoRatio, double calmarRatio,
+                              double exposure, double commissions, double slippage) {
+        this.finalBalance = finalBalance;
+        this.totalReturn = totalReturn;
+        this.annualizedReturn = annualizedReturn;
+        this.totalTrades = totalTrades;
+        this.winRate = winRate;
+        this.profitFactor = profitFactor;
+        this.maxDrawdown = maxDrawdown;
+        this.maxDrawdownDuration = maxDrawdownDuration;
+        this.volatility = volatility;
+        this.sharpeRatio = sharpeRatio;
+        this.sortinoRatio = sortinoRatio;
+        this.calmarRatio = calmarRatio;
+        this.exposure = exposure;
+        this.commissions = commissions;
+        this.slippage = slippage;
+    }
+
+    public double getFinalBalance() { return finalBalance; }
+    public double getTotalReturn() { return totalReturn; }
+    public double getAnnualizedReturn() { return annualizedReturn; }
+    public int getTotalTrades() { return totalTrades; }
+    public double getWinRate() { return winRate; }
+    public double getProfitFactor() { return profitFactor; }
+    public double getMaxDrawdown() { return maxDrawdown; }
+    public int getMaxDrawdownDuration() { return maxDrawdownDuration; }
+    public double getVolatility() { return volatility; }
+    public double getSharpeRatio() { return sharpeRatio; }
+    public double getSortinoRatio() { return sortinoRatio; }
+    public double getCalmarRatio() { return calmarRatio; }
+    public double getExposure() { return exposure; }
+    public double getCommissions() { return commissions; }
+    public double getSlippage() { return slippage; }
+
+    @Override
+    public String toString() {
+        return String.format("Return: %.2f%% | Balance: %.2f | Trades: %d | Win Rate: %.2f%% | Max DD: %.2f%% | PF: %.2f | Sharpe: %.2f | Sortino: %.2f | Calmar: %.2f",
+                totalReturn, finalBalance, totalTrades, winRate, maxDrawdown * 100, profitFactor, sharpeRatio,
+                sortinoRatio, calmarRatio);
+    }
+}
@@ -0,0 +1,339 @@
+package org.example.models;
+
+import org.example.utils.DateUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar, primitive-array representation of a price history.
+ * Each bar is stored as one slot in a {@code long[]} of epoch-millisecond timestamps and in
+ * {@code double[]} open/high/low/close/volume columns, so iterating a series is a straight array scan
+ * with no per-bar objects.
+ *
+ * Instances are immutable, apart from views over a builder that is being reused ({@link Builder#view()}).
+ * {@link #slice(int, int)} returns a view that shares the underlying arrays, and {@link #sliceByTime(long, long)}
+ * finds the bars of a time range by binary search over the timestamps. Dates only become text when formatted
+ * for output ({@link #getDate(int)}).
+ */
+public final class PriceSeries {
+    private final long[] timestamps;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume; // null when the source had no volume column
+    private final int offset; // Index of this view's first bar in the backing arrays
+    private final int length; // Number of bars in this view
+
+    private PriceSeries(long[] timestamps, double[] open, double[] high, double[] low, double[] close,
+                        double[] volume, int offset, int length) {
+        this.timestamps = timestamps;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.volume = volume;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates a builder for a new series.
+     *
+     * @param initialCapacity The expected number of bars (the builder grows as needed).
+     */
+    public static Builder builder(int initialCapacity) {
+        return new Builder(initialCapacity);
+    }
+
+    /**
+     * Wraps existing column arrays without copying them. The caller hands over ownership of the arrays.
+     *
+     * @param timestamps Epoch-millisecond timestamps.
+     * @param open Open prices, or null to use the close prices.
+     * @param high High prices, or null to use the close prices.
+     * @param low Low prices, or null to use the close prices.
+     * @param close Close prices.
+     * @param volume Volumes, or null if the data has none.
+     * @return A series over the arrays.
+     */
+    public static PriceSeries of(long[] timestamps, double[] open, double[] high, double[] low,
+                                 double[] close, double[] volume) {
+        int length = timestamps.length;
+        if (close.length != length || (open != null && open.length != length) || (high != null && high.length != length)
+                || (low != null && low.length != length) || (volume != null && volume.length != length)) {
+            throw new IllegalArgumentException("All columns must have " + length + " bars");
+        }
+        return new PriceSeries(timestamps, open == null ? close : open, high == null ? close : high,
+                low == null ? close : low, close, volume, 0, length);
+    }
+
+    /**
+     * Converts a list of MarketDataPoint objects into a columnar series.
+     *
+     * @param marketData The data points, in chronological order.
+     * @return A series holding the same bars.
+     */
+    public static PriceSeries fromDataPoints(List<MarketDataPoint> marketData) {
+        Builder builder = builder(marketData.size());
+        for (MarketDataPoint point : marketData) {
+            long timestamp = point.getTimestamp();
+            if (point.hasOhlc() || point.getVolume() != 0) {
+                builder.add(timestamp, point.getOpenPrice(), point.getHighPrice(), point.getLowPrice(),
+                        point.getClosePrice(), point.getVolume());
+            } else {
+                builder.add(timestamp, point.getClosePrice());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Joins several series end to end into one new series (used to merge chunks parsed in parallel).
+     *
+     * @param parts The series to join, in order.
+     * @return A series holding all bars of all parts.
+     */
+    public static PriceSeries concat(List<PriceSeries> parts) {
+        int total = 0;
+        boolean closeOnly = true;
+        for (PriceSeries part : parts) {
+            total += part.length;
+            closeOnly &= part.open == part.close && part.volume == null;
+        }
+        long[] timestamps = new long[total];
+        double[] close = new double[total];
+        double[] open = closeOnly ? close : new double[total];
+        double[] high = closeOnly ? close : new double[total];
+        double[] low = closeOnly ? close : new double[total];
+        double[] volume = closeOnly ? null : new double[total];
+
+        int position = 0;
+        for (PriceSeries part : parts) {
+            System.arraycopy(part.timestamps, part.offset, timestamps, position, part.length);
+            System.arraycopy(part.close, part.offset, close, position, part.length);
+            if (!closeOnly) {
+                System.arraycopy(part.open, part.offset, open, position, part.length);
+                System.arraycopy(part.high, part.offset, high, position, part.length);
+                System.arraycopy(part.low, part.offset, low, position, part.length);
+                if (part.volume != null) {
+                    System.arraycopy(part.volume, part.offset, volume, position, part.length);
+                }
+            }
+            position += part.length;
+        }
+        return new PriceSeries(timestamps, open, high, low, close, volume, 0, total);
+    }
+
+    public int size() { return length; }
+    public boolean isEmpty() { return length == 0; }
+
+    public long getTimestamp(int index) { return timestamps[offset + index]; }
+    public double getOpen(int index) { return open[offset + index]; }
+    public double getHigh(int index) { return high[offset + index]; }
+    public double getLow(int index) { return low[offset + index]; }
+    public double getClose(int index) { return close[offset + index]; }
+    public double getVolume(int index) { return volume == null ? 0 : volume[offset + index]; }
+    public boolean hasVolume() { return volume != null; }
+    public boolean hasOhlc() { return open != close; }
+
+    /**
+     * Formats the timestamp of a bar for display and export.
+     *
+     * @param index The bar index within this view.
+     * @return The bar's date as text.
+     */
+    public String getDate(int index) {
+        return DateUtils.format(getTimestamp(index));
+    }
+
+    /**
+     * Returns a zero-copy view of a contiguous range of bars.
+     *
+     * @param fromIndex The first bar of the view (inclusive).
+     * @param toIndex The end of the view (exclusive).
+     * @return A series sharing this series' arrays.
+     */
+    public PriceSeries slice(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Slice [" + fromIndex + ", " + toIndex + ") outside series of size " + length);
+        }
+        return new PriceSeries(timestamps, open, high, low, close, volume, offset + fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Finds the first bar at or after a point in time by binary search; bars must be in chronological order.
+     *
+     * @param timestamp The epoch milliseconds to search for.
+     * @return The index of the first bar whose timestamp is not before {@code timestamp}, or {@link #size()} if
+     *         every bar is earlier.
+     */
+    public int indexAtOrAfter(long timestamp) {
+        int low = offset;
+        int high = offset + length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - offset;
+    }
+
+    /**
+     * Returns a zero-copy view of the bars in a time range, located by binary search.
+     *
+     * @param fromTimestamp The start of the range in epoch milliseconds (inclusive).
+     * @param toTimestamp The end of the range in epoch milliseconds (exclusive).
+     * @return A series sharing this series' arrays; empty if no bar falls in the range.
+     */
+    public PriceSeries sliceByTime(long fromTimestamp, long toTimestamp) {
+        int fromIndex = indexAtOrAfter(fromTimestamp);
+        int toIndex = Math.max(fromIndex, indexAtOrAfter(toTimestamp));
+        return slice(fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a zero-copy view of the bars between two dates or ISO-8601 timestamps.
+     *
+     * @param from The start of the range (inclusive), e.g. "2023-01-01".
+     * @param to The end of the range (exclusive).
+     * @return A series sharing this series' arrays.
+     */
+    public PriceSeries sliceByTime(String from, String to) {
+        return sliceByTime(DateUtils.parseEpochMillis(from), DateUtils.parseEpochMillis(to));
+    }
+
+    /**
+     * Raw access to the close column for bulk kernels. The returned array is shared and must not be modified;
+     * this view's bars occupy indices {@link #offset()} to {@code offset() + size() - 1}.
+     */
+    public double[] closeArray() { return close; }
+
+    /**
+     * @return The index of this view's first bar in the arrays returned by the raw accessors.
+     */
+    public int offset() { return offset; }
+
+    @Override
+    public String toString() {
+        return "PriceSeries [size=" + length
+                + (length > 0 ? ", from=" + getDate(0) + ", to=" + getDate(length - 1) : "") + "]";
+    }
+
+    /**
+     * Accumulates bars into growable primitive columns.
+     * Series that only ever receive closing prices share the close column for open/high/low,
+     * so a close-only series costs 16 bytes per bar.
+     */
+    public static final class Builder {
+        private long[] timestamps;
+        private double[] close;
+        private double[] open; // null until the first full OHLC bar is added
+        private double[] high;
+        private double[] low;
+        private double[] volume;
+        private int size = 0;
+
+        private Builder(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            this.timestamps = new long[capacity];
+            this.close = new double[capacity];
+        }
+
+        /**
+         * Appends a close-only bar.
+         */
+        public Builder add(long timestamp, double closePrice) {
+            ensureCapacity(size + 1);
+            timestamps[size] = timestamp;
+            close[size] = closePrice;
+            if (open != null) {
+                open[size] = closePrice;
+                high[size] = closePrice;
+                low[size] = closePrice;
+                volume[size] = 0;
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Appends a full OHLCV bar.
+         */
+        public Builder add(long timestamp, double openPrice, double highPrice, double lowPrice,
+                           double closePrice, double barVolume) {
+            if (open == null) {
+                // First full bar: back-fill the extra columns for the close-only bars seen so far
+                open = Arrays.copyOf(close, close.length);
+                high = Arrays.copyOf(close, close.length);
+                low = Arrays.copyOf(close, close.length);
+                volume = new double[close.length];
+            }
+            ensureCapacity(size + 1);
+            timestamps[size] = timestamp;
+            open[size] = openPrice;
+            high[size] = highPrice;
+            low[size] = lowPrice;
+            close[size] = closePrice;
+            volume[size] = barVolume;
+            size++;
+            return this;
+        }
+
+        public int size() { return size; }
+
+        private void ensureCapacity(int required) {
+            if (required <= timestamps.length) {
+                return;
+            }
+            int capacity = Math.max(required, timestamps.length + (timestamps.length >> 1));
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            close = Arrays.copyOf(close, capacity);
+            if (open != null) {
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+            }
+        }
+
+        /**
+         * Trims the columns to size and returns the finished series. The builder must not be used afterwards.
+         */
+        public PriceSeries build() {
+            long[] ts = timestamps.length == size ? timestamps : Arrays.copyOf(timestamps, size);
+            double[] c = trim(close);
+            if (open == null) {
+                return new PriceSeries(ts, c, c, c, c, null, 0, size);
+            }
+            return new PriceSeries(ts, trim(open), trim(high), trim(low), c, trim(volume), 0, size);
+        }
+
+        /**
+         * Returns a series over the bars added so far without copying or trimming the columns. The view shares
+         * the builder's arrays, so it only stays valid until the builder is cleared and refilled; used to recycle
+         * fixed-size blocks when streaming.
+         */
+        public PriceSeries view() {
+            if (open == null) {
+                return new PriceSeries(timestamps, close, close, close, close, null, 0, size);
+            }
+            return new PriceSeries(timestamps, open, high, low, close, volume, 0, size);
+        }
+
+        /**
+         * Removes all bars while keeping the allocated columns, so the builder can be refilled without allocating.
+         */
+        public void clear() {
+            size = 0;
+        }
+
+        private double[] trim(double[] column) {
+            return column.length == size ? column : Arrays.copyOf(column, size);
+        }
+    }
+}
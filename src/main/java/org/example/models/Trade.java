@@ -1,11 +1,14 @@
 package org.example.models;
 
+import org.example.utils.DateUtils;
+
 /**
  * Represents a single trade (buy or sell) in the backtest.
  */
 public class Trade {
+    private final String symbol; // Symbol traded, or null for a single-series backtest
     private final String type; // "Buy" or "Sell"
-    private final String date; // Date the trade took place
+    private final long timestamp; // Epoch milliseconds of the bar the trade took place on
     private final double price; // Closing price at which the trade happened
     private final double profit; // Profit from the trade (0 if a buy)
     private final double balanceAfterTrade; // Account balance after this trade
@@ -14,10 +17,16 @@ public class Trade {
     private final double takeProfitPrice;
 
 
-    public Trade(String type, String date, double price, double profit,
+    public Trade(String type, long timestamp, double price, double profit,
+                 double balanceAfterTrade, double positionSize, double stopLossPrice, double takeProfitPrice) {
+        this(null, type, timestamp, price, profit, balanceAfterTrade, positionSize, stopLossPrice, takeProfitPrice);
+    }
+
+    public Trade(String symbol, String type, long timestamp, double price, double profit,
                  double balanceAfterTrade, double positionSize, double stopLossPrice, double takeProfitPrice) {
+        this.symbol = symbol;
         this.type = type;
-        this.date = date;
+        this.timestamp = timestamp;
         this.price = price;
         this.profit = profit;
         this.balanceAfterTrade = balanceAfterTrade;
@@ -27,8 +36,9 @@ public class Trade {
     }
 
     // Getter methods for CSV export
+    public String getSymbol() { return symbol; }
     public String getType() { return type; }
-    public String getDate() { return date; }
+    public long getTimestamp() { return timestamp; }
     public double getPrice() { return price; }
     public double getProfit() { return profit; }
     public double getBalanceAfterTrade() { return balanceAfterTrade; }
@@ -36,11 +46,21 @@ public class Trade {
     public double getStopLossPrice() { return stopLossPrice; }
     public double getTakeProfitPrice() { return takeProfitPrice; }
 
+    /**
+     * Formats the trade's timestamp for display and export; every call builds a new string.
+     *
+     * @return The date as text.
+     */
+    public String getDate() {
+        return DateUtils.format(timestamp);
+    }
+
     @Override
     public String toString() {
-        return String.format(
+        String row = String.format(
                 "%-12s | %-10s | Price: %-8.2f | Qty: %-6.3f | SL: %-8.2f | TP: %-8.2f | Profit: %-7.2f | Balance: %-8.2f",
-                type, date, price, positionSize, stopLossPrice, takeProfitPrice, profit, balanceAfterTrade
+                type, getDate(), price, positionSize, stopLossPrice, takeProfitPrice, profit, balanceAfterTrade
         );
+        return symbol == null ? row : String.format("%-6s | %s", symbol, row);
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package org.example.signals;
+
+/**
+ * Bulk computation of rolling means and moving-average crossovers over a prefix-sum array.
+ *
+ * Every mean is computed as {@code (prefix[i + 1] - prefix[i + 1 - period]) / period}, element by element,
+ * so the SIMD and scalar implementations produce bit-identical results.
+ */
+public interface CrossoverKernel {
+
+    /**
+     * Fills {@code out[0, size)} with the rolling mean of the given period ({@code NaN} for the first period - 1 bars).
+     *
+     * @param prefix Prefix sums of the close: {@code prefix[0] = 0}, {@code prefix[i + 1] = prefix[i] + close[i]}.
+     * @param size The number of bars.
+     * @param period The averaging period.
+     * @param out The output array, at least {@code size} long.
+     */
+    void rollingMean(double[] prefix, int size, int period, double[] out);
+
+    /**
+     * Sets bit {@code i} of {@code golden} when the short mean crosses above the long mean at bar {@code i}
+     * ({@code short[i-1] < long[i-1] && short[i] > long[i]}), and bit {@code i} of {@code death} when it crosses below.
+     * Bars before both means and their previous values are defined never signal.
+     *
+     * @param prefix Prefix sums of the close.
+     * @param size The number of bars.
+     * @param shortPeriod The short averaging period.
+     * @param longPeriod The long averaging period.
+     * @param golden Zeroed bitmask of at least {@code (size + 63) / 64} words.
+     * @param death Zeroed bitmask of at least {@code (size + 63) / 64} words.
+     */
+    void crossovers(double[] prefix, int size, int shortPeriod, int longPeriod, long[] golden, long[] death);
+
+    /**
+     * @return The plain-Java kernel, available on every JVM.
+     */
+    static CrossoverKernel scalar() {
+        return ScalarCrossoverKernel.INSTANCE;
+    }
+
+    /**
+     * @return The SIMD kernel.
+     * @throws UnsupportedOperationException If the JVM was not started with {@code --add-modules jdk.incubator.vector}.
+     */
+    static CrossoverKernel vector() {
+        if (!isVectorAvailable()) {
+            throw new UnsupportedOperationException("Start the JVM with --add-modules jdk.incubator.vector");
+        }
+        return VectorKernelHolder.INSTANCE;
+    }
+
+    /**
+     * @return The SIMD kernel when the Vector API is available, otherwise the scalar kernel.
+     */
+    static CrossoverKernel best() {
+        return isVectorAvailable() ? VectorKernelHolder.INSTANCE : ScalarCrossoverKernel.INSTANCE;
+    }
+
+    /**
+     * @return True if the incubating Vector API module is present in the boot layer.
+     */
+    static boolean isVectorAvailable() {
+        return VectorKernelHolder.AVAILABLE;
+    }
+}
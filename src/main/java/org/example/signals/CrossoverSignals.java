@@ -0,0 +1,156 @@
+package org.example.signals;
+
+import org.example.models.PriceSeries;
+
+/**
+ * Moving-average crossover signals of a whole series, stored as bitmasks (bit {@code i} of word {@code i / 64}).
+ *
+ * Intended for signal screening on long histories: the signals do not depend on position state, so they are
+ * computed in bulk from prefix sums of the close instead of replaying the series through the engine. The means
+ * come from differences of prefix sums, so on very long series they can differ from the streaming
+ * {@code SimpleMovingAverage} in the last few bits, which only matters for bars where the two means are equal.
+ */
+public final class CrossoverSignals {
+    private final int size;
+    private final long[] golden; // Short mean crosses above the long mean
+    private final long[] death; // Short mean crosses below the long mean
+
+    private CrossoverSignals(int size, long[] golden, long[] death) {
+        this.size = size;
+        this.golden = golden;
+        this.death = death;
+    }
+
+    /**
+     * Computes the crossovers of a series with the fastest available kernel.
+     *
+     * @param series The price series.
+     * @param shortPeriod The short averaging period.
+     * @param longPeriod The long averaging period.
+     * @return The golden and death crosses of every bar.
+     */
+    public static CrossoverSignals compute(PriceSeries series, int shortPeriod, int longPeriod) {
+        return compute(series, shortPeriod, longPeriod, CrossoverKernel.best());
+    }
+
+    /**
+     * Computes the crossovers of a series with the given kernel.
+     *
+     * @param series The price series.
+     * @param shortPeriod The short averaging period.
+     * @param longPeriod The long averaging period.
+     * @param kernel The kernel to use, e.g. {@link CrossoverKernel#scalar()} to check the SIMD results.
+     * @return The golden and death crosses of every bar.
+     */
+    public static CrossoverSignals compute(PriceSeries series, int shortPeriod, int longPeriod, CrossoverKernel kernel) {
+        if (shortPeriod <= 0 || longPeriod <= 0) {
+            throw new IllegalArgumentException("Periods must be positive");
+        }
+        int size = series.size();
+        long[] golden = new long[(size + 63) >>> 6];
+        long[] death = new long[golden.length];
+        kernel.crossovers(prefixSums(series), size, shortPeriod, longPeriod, golden, death);
+        return new CrossoverSignals(size, golden, death);
+    }
+
+    /**
+     * Computes the rolling mean of the close with the fastest available kernel.
+     *
+     * @param series The price series.
+     * @param period The averaging period.
+     * @return One value per bar, {@code NaN} for the first period - 1 bars.
+     */
+    public static double[] rollingMean(PriceSeries series, int period) {
+        return rollingMean(series, period, CrossoverKernel.best());
+    }
+
+    /**
+     * Computes the rolling mean of the close with the given kernel.
+     */
+    public static double[] rollingMean(PriceSeries series, int period, CrossoverKernel kernel) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        double[] out = new double[series.size()];
+        kernel.rollingMean(prefixSums(series), series.size(), period, out);
+        return out;
+    }
+
+    /**
+     * Sums the closes sequentially: {@code prefix[0] = 0}, {@code prefix[i + 1] = prefix[i] + close[i]}.
+     */
+    static double[] prefixSums(PriceSeries series) {
+        double[] close = series.closeArray();
+        int offset = series.offset();
+        int size = series.size();
+        double[] prefix = new double[size + 1];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += close[offset + i];
+            prefix[i + 1] = sum;
+        }
+        return prefix;
+    }
+
+    public boolean isGoldenCross(int index) {
+        return (golden[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean isDeathCross(int index) {
+        return (death[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return The first bar at or after {@code fromIndex} with a golden cross, or -1 if there is none.
+     */
+    public int nextGoldenCross(int fromIndex) {
+        return nextSetBit(golden, fromIndex);
+    }
+
+    /**
+     * @return The first bar at or after {@code fromIndex} with a death cross, or -1 if there is none.
+     */
+    public int nextDeathCross(int fromIndex) {
+        return nextSetBit(death, fromIndex);
+    }
+
+    public int goldenCrossCount() { return bitCount(golden); }
+    public int deathCrossCount() { return bitCount(death); }
+    public int size() { return size; }
+
+    /** Raw golden-cross bitmask (not copied). */
+    public long[] goldenMask() { return golden; }
+
+    /** Raw death-cross bitmask (not copied). */
+    public long[] deathMask() { return death; }
+
+    private int nextSetBit(long[] mask, int fromIndex) {
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long bits = mask[word] & (-1L << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == mask.length) {
+                return -1;
+            }
+            bits = mask[word];
+        }
+    }
+
+    private static int bitCount(long[] mask) {
+        int count = 0;
+        for (long word : mask) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "CrossoverSignals[bars=" + size + ", golden=" + goldenCrossCount() + ", death=" + deathCrossCount() + "]";
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.signals;
+
+import java.util.Arrays;
+
+/**
+ * Plain-Java crossover kernel. Also handles the head and tail bars of the SIMD kernel, so both share one definition
+ * of a mean and of a crossover.
+ */
+final class ScalarCrossoverKernel implements CrossoverKernel {
+    static final ScalarCrossoverKernel INSTANCE = new ScalarCrossoverKernel();
+
+    private ScalarCrossoverKernel() {
+    }
+
+    @Override
+    public void rollingMean(double[] prefix, int size, int period, double[] out) {
+        int first = Math.min(period - 1, size);
+        Arrays.fill(out, 0, first, Double.NaN);
+        for (int i = first; i < size; i++) {
+            out[i] = mean(prefix, i, period);
+        }
+    }
+
+    @Override
+    public void crossovers(double[] prefix, int size, int shortPeriod, int longPeriod, long[] golden, long[] death) {
+        crossovers(prefix, firstSignalBar(shortPeriod, longPeriod), size, shortPeriod, longPeriod, golden, death);
+    }
+
+    /**
+     * Computes the crossover bits of bars {@code [from, to)}; {@code from} must be at least {@link #firstSignalBar}.
+     */
+    static void crossovers(double[] prefix, int from, int to, int shortPeriod, int longPeriod,
+                           long[] golden, long[] death) {
+        if (from >= to) {
+            return;
+        }
+        double prevShort = mean(prefix, from - 1, shortPeriod);
+        double prevLong = mean(prefix, from - 1, longPeriod);
+        for (int i = from; i < to; i++) {
+            double shortMean = mean(prefix, i, shortPeriod);
+            double longMean = mean(prefix, i, longPeriod);
+            // Branch-free: the comparison results are turned into bits and OR-ed in unconditionally
+            long up = (prevShort < prevLong) & (shortMean > longMean) ? 1L : 0L;
+            long down = (prevShort > prevLong) & (shortMean < longMean) ? 1L : 0L;
+            golden[i >>> 6] |= up << i;
+            death[i >>> 6] |= down << i;
+            prevShort = shortMean;
+            prevLong = longMean;
+        }
+    }
+
+    /**
+     * The mean of the {@code period} closes ending at bar {@code i}.
+     */
+    static double mean(double[] prefix, int i, int period) {
+        return (prefix[i + 1] - prefix[i + 1 - period]) / period;
+    }
+
+    /**
+     * The first bar at which both means and their previous values are defined.
+     */
+    static int firstSignalBar(int shortPeriod, int longPeriod) {
+        return Math.max(shortPeriod, longPeriod);
+    }
+}
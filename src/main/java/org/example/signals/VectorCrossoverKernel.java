@@ -0,0 +1,65 @@
+package org.example.signals;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * SIMD crossover kernel on the incubating Vector API.
+ *
+ * Each step loads the prefix sums of one vector of bars (and of the bars before them), computes the short and long
+ * means of each bar and its predecessor in all lanes, and turns the two comparison masks into bits of the output
+ * words. Steps start at multiples of the lane count, which divides 64, so a step's bits never straddle two words.
+ * Bars outside the vector loop go through {@link ScalarCrossoverKernel} with the same arithmetic.
+ */
+final class VectorCrossoverKernel implements CrossoverKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public void rollingMean(double[] prefix, int size, int period, double[] out) {
+        int first = Math.min(period - 1, size);
+        Arrays.fill(out, 0, first, Double.NaN);
+        int upper = first + SPECIES.loopBound(size - first);
+        double divisor = period;
+        int i = first;
+        for (; i < upper; i += LANES) {
+            DoubleVector end = DoubleVector.fromArray(SPECIES, prefix, i + 1);
+            DoubleVector start = DoubleVector.fromArray(SPECIES, prefix, i + 1 - period);
+            end.sub(start).div(divisor).intoArray(out, i);
+        }
+        for (; i < size; i++) {
+            out[i] = ScalarCrossoverKernel.mean(prefix, i, period);
+        }
+    }
+
+    @Override
+    public void crossovers(double[] prefix, int size, int shortPeriod, int longPeriod, long[] golden, long[] death) {
+        int first = ScalarCrossoverKernel.firstSignalBar(shortPeriod, longPeriod);
+        int start = Math.min(size, (first + LANES - 1) / LANES * LANES); // Align so a step stays within one word
+        int upper = start + SPECIES.loopBound(size - start);
+        ScalarCrossoverKernel.crossovers(prefix, first, start, shortPeriod, longPeriod, golden, death);
+
+        double shortDivisor = shortPeriod;
+        double longDivisor = longPeriod;
+        for (int i = start; i < upper; i += LANES) {
+            DoubleVector end = DoubleVector.fromArray(SPECIES, prefix, i + 1);
+            DoubleVector prevEnd = DoubleVector.fromArray(SPECIES, prefix, i);
+            DoubleVector shortMean = end.sub(DoubleVector.fromArray(SPECIES, prefix, i + 1 - shortPeriod)).div(shortDivisor);
+            DoubleVector longMean = end.sub(DoubleVector.fromArray(SPECIES, prefix, i + 1 - longPeriod)).div(longDivisor);
+            DoubleVector prevShort = prevEnd.sub(DoubleVector.fromArray(SPECIES, prefix, i - shortPeriod)).div(shortDivisor);
+            DoubleVector prevLong = prevEnd.sub(DoubleVector.fromArray(SPECIES, prefix, i - longPeriod)).div(longDivisor);
+
+            long up = prevShort.compare(VectorOperators.LT, prevLong)
+                    .and(shortMean.compare(VectorOperators.GT, longMean)).toLong();
+            long down = prevShort.compare(VectorOperators.GT, prevLong)
+                    .and(shortMean.compare(VectorOperators.LT, longMean)).toLong();
+            golden[i >>> 6] |= up << i;
+            death[i >>> 6] |= down << i;
+        }
+
+        ScalarCrossoverKernel.crossovers(prefix, Math.max(start, upper), size, shortPeriod, longPeriod, golden, death);
+    }
+}
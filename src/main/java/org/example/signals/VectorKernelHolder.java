@@ -0,0 +1,13 @@
+package org.example.signals;
+
+/**
+ * Resolves the SIMD kernel lazily. {@link VectorCrossoverKernel} references {@code jdk.incubator.vector} classes,
+ * so it is only loaded once the module is known to be present.
+ */
+final class VectorKernelHolder {
+    static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    static final CrossoverKernel INSTANCE = AVAILABLE ? new VectorCrossoverKernel() : null;
+
+    private VectorKernelHolder() {
+    }
+}
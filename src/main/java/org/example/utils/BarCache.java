@@ -0,0 +1,309 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary on-disk cache of parsed price series, so repeated backtests over the same CSV skip text parsing.
+ *
+ * The first load of a CSV parses it with {@link MappedCsvReader} and writes a fixed-width columnar file to a
+ * {@code .bar_cache} directory next to the source. Later loads memory-map that file and copy the columns
+ * straight into the series arrays. The cache is keyed on the source's absolute path, column mapping, size and
+ * modification time; any mismatch (or a corrupt cache) rebuilds it from the CSV.
+ *
+ * File layout (little-endian): magic, version, source size, source mtime, bar count, flags, malformed row count,
+ * key length, key bytes, padding to 8 bytes, then the timestamp column, the close column, the open/high/low
+ * columns when the data is OHLC, and the volume column when present.
+ */
+public final class BarCache {
+    public static final String CACHE_DIRECTORY = ".bar_cache";
+
+    private static final int MAGIC = 0x42415253; // "BARS"
+    private static final int VERSION = 1;
+    private static final int FLAG_OHLC = 1;
+    private static final int FLAG_VOLUME = 2;
+    private static final int FIXED_HEADER_BYTES = 48;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final long MAX_WINDOW_BYTES = 1L << 30; // A single mapping must stay below 2 GB
+
+    private BarCache() {
+    }
+
+    /**
+     * Loads a CSV file through the cache, resolving columns from the header.
+     *
+     * @param csvPath The path to the CSV file.
+     * @return The price series (empty if the CSV could not be read).
+     */
+    public static PriceSeries load(String csvPath) {
+        return load(csvPath, null);
+    }
+
+    /**
+     * Loads a CSV file through the cache, falling back to parsing (and rebuilding the cache) when it is stale.
+     *
+     * @param csvPath The path to the CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @return The price series (empty if the CSV could not be read).
+     */
+    public static PriceSeries load(String csvPath, CsvColumnMapping mapping) {
+        Path source = Paths.get(csvPath).toAbsolutePath().normalize();
+        Path cacheFile = cacheFileFor(source);
+        SourceKey key;
+        try {
+            key = SourceKey.of(source, mapping);
+        } catch (IOException e) {
+            System.err.println("Error reading CSV: " + e.getMessage());
+            return PriceSeries.builder(0).build();
+        }
+
+        if (Files.exists(cacheFile)) {
+            try {
+                PriceSeries cached = read(cacheFile, key);
+                if (cached != null) {
+                    return cached;
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable bar cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+
+        CsvReadResult result;
+        try {
+            result = MappedCsvReader.read(source, mapping, true);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading CSV: " + e.getMessage());
+            return PriceSeries.builder(0).build();
+        }
+        CsvReader.reportMalformedRows(csvPath, result);
+
+        try {
+            write(result.getSeries(), cacheFile, key, result.getMalformedCount());
+        } catch (IOException e) {
+            System.err.println("Could not write bar cache " + cacheFile + ": " + e.getMessage());
+        }
+        return result.getSeries();
+    }
+
+    /**
+     * @return The cache file used for a source CSV.
+     */
+    public static Path cacheFileFor(Path source) {
+        Path absolute = source.toAbsolutePath().normalize();
+        String name = absolute.getFileName() + "." + Integer.toHexString(absolute.toString().hashCode()) + ".bars";
+        return absolute.resolveSibling(CACHE_DIRECTORY).resolve(name);
+    }
+
+    /**
+     * Reads a cache file if it matches the source key.
+     *
+     * @return The cached series, or null if the cache is stale or was built for another source.
+     */
+    static PriceSeries read(Path cacheFile, SourceKey key) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < FIXED_HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer buf = readFully(channel, 0, FIXED_HEADER_BYTES);
+
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                return null;
+            }
+            long sourceSize = buf.getLong();
+            long sourceModified = buf.getLong();
+            long bars = buf.getLong();
+            int flags = buf.getInt();
+            long malformedCount = buf.getLong();
+            int keyLength = buf.getInt();
+            if (keyLength < 0 || keyLength > fileSize - FIXED_HEADER_BYTES) {
+                return null;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            readFully(channel, FIXED_HEADER_BYTES, keyLength).get(keyBytes);
+            if (sourceSize != key.size || sourceModified != key.modified
+                    || !key.identity.equals(new String(keyBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            int n = Math.toIntExact(bars);
+            int columns = 2 + ((flags & FLAG_OHLC) != 0 ? 3 : 0) + ((flags & FLAG_VOLUME) != 0 ? 1 : 0);
+            long position = align(FIXED_HEADER_BYTES + keyLength);
+            long columnBytes = (long) n * Long.BYTES;
+            if (fileSize - position != columnBytes * columns) {
+                return null; // Truncated or padded file
+            }
+
+            long[] timestamps = new long[n];
+            readColumn(channel, position, n, (window, at, count) -> window.asLongBuffer().get(timestamps, at, count));
+            position += columnBytes;
+            double[] close = readColumn(channel, position, n);
+            position += columnBytes;
+            double[] open = null, high = null, low = null, volume = null;
+            if ((flags & FLAG_OHLC) != 0) {
+                open = readColumn(channel, position, n);
+                high = readColumn(channel, position + columnBytes, n);
+                low = readColumn(channel, position + 2 * columnBytes, n);
+                position += 3 * columnBytes;
+            }
+            if ((flags & FLAG_VOLUME) != 0) {
+                volume = readColumn(channel, position, n);
+            }
+            if (malformedCount > 0) {
+                System.err.println("Note: " + malformedCount + " malformed row(s) were skipped when this cache was built from "
+                        + key.identity);
+            }
+            return PriceSeries.of(timestamps, open, high, low, close, volume);
+        }
+    }
+
+    /**
+     * Writes a series to a cache file. The file is written to a temporary name and moved into place,
+     * so a concurrent or interrupted run never sees a half-written cache.
+     */
+    static void write(PriceSeries series, Path cacheFile, SourceKey key, long malformedCount) throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path temp = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                byte[] keyBytes = key.identity.getBytes(StandardCharsets.UTF_8);
+                int flags = (series.hasOhlc() ? FLAG_OHLC : 0) | (series.hasVolume() ? FLAG_VOLUME : 0);
+
+                buf.putInt(MAGIC).putInt(VERSION).putLong(key.size).putLong(key.modified)
+                        .putLong(series.size()).putInt(flags).putLong(malformedCount).putInt(keyBytes.length);
+                int headerLength = FIXED_HEADER_BYTES + keyBytes.length;
+                ByteBuffer header = ByteBuffer.allocate(align(headerLength) - FIXED_HEADER_BYTES);
+                header.put(keyBytes);
+                buf.put(header.array());
+
+                int n = series.size();
+                for (int i = 0; i < n; i++) {
+                    buf = ensureSpace(channel, buf);
+                    buf.putLong(series.getTimestamp(i));
+                }
+                for (int i = 0; i < n; i++) {
+                    buf = ensureSpace(channel, buf);
+                    buf.putDouble(series.getClose(i));
+                }
+                if (series.hasOhlc()) {
+                    for (int i = 0; i < n; i++) {
+                        buf = ensureSpace(channel, buf);
+                        buf.putDouble(series.getOpen(i));
+                    }
+                    for (int i = 0; i < n; i++) {
+                        buf = ensureSpace(channel, buf);
+                        buf.putDouble(series.getHigh(i));
+                    }
+                    for (int i = 0; i < n; i++) {
+                        buf = ensureSpace(channel, buf);
+                        buf.putDouble(series.getLow(i));
+                    }
+                }
+                if (series.hasVolume()) {
+                    for (int i = 0; i < n; i++) {
+                        buf = ensureSpace(channel, buf);
+                        buf.putDouble(series.getVolume(i));
+                    }
+                }
+                flush(channel, buf);
+            }
+            try {
+                Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static double[] readColumn(FileChannel channel, long position, int n) throws IOException {
+        double[] column = new double[n];
+        readColumn(channel, position, n, (window, at, count) -> window.asDoubleBuffer().get(column, at, count));
+        return column;
+    }
+
+    /**
+     * Copies a column of {@code n} 8-byte values starting at {@code position} through mappings of at most
+     * {@link #MAX_WINDOW_BYTES}, since one mapping cannot exceed 2 GB while a column of a large file can.
+     */
+    private static void readColumn(FileChannel channel, long position, int n, WindowCopy copy) throws IOException {
+        for (int at = 0; at < n; ) {
+            int count = (int) Math.min(n - at, MAX_WINDOW_BYTES / Long.BYTES);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position + (long) at * Long.BYTES,
+                    (long) count * Long.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN);
+            copy.copy(window, at, count);
+            at += count;
+        }
+    }
+
+    /**
+     * Copies {@code count} values from a mapped window into a column array, starting at index {@code at}.
+     */
+    private interface WindowCopy {
+        void copy(ByteBuffer window, int at, int count);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of bar cache");
+            }
+        }
+        return buf.flip();
+    }
+
+    private static ByteBuffer ensureSpace(FileChannel channel, ByteBuffer buf) throws IOException {
+        if (buf.remaining() < Long.BYTES) {
+            flush(channel, buf);
+        }
+        return buf;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+        buf.clear();
+    }
+
+    private static int align(int position) {
+        return (position + 7) & ~7;
+    }
+
+    /**
+     * Identity of a source file: which file, read with which mapping, at which size and modification time.
+     */
+    static final class SourceKey {
+        final String identity; // Absolute path plus the column mapping used to parse it
+        final long size;
+        final long modified;
+
+        private SourceKey(String identity, long size, long modified) {
+            this.identity = identity;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        static SourceKey of(Path source, CsvColumnMapping mapping) throws IOException {
+            String identity = source.toString() + "|" + (mapping == null ? "header" : mapping.toString());
+            return new SourceKey(identity, Files.size(source), Files.getLastModifiedTime(source).toMillis());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Streams a CSV file as a sequence of fixed-size bar blocks, parsed ahead on a background thread.
+ *
+ * A producer thread fills recycled blocks with a {@link CsvBlockReader} and hands them over through a bounded
+ * queue; the consumer takes them with {@link #next()}, which also returns the previous block to the producer.
+ * Only a fixed pool of blocks ever exists, so memory use is constant regardless of file size, and parsing
+ * overlaps with the backtest instead of preceding it. A block returned by {@link #next()} stays valid until the
+ * following call (or {@link #close()}).
+ */
+public final class BarStream implements AutoCloseable {
+    public static final int DEFAULT_BLOCK_BARS = 4096;
+    public static final int DEFAULT_QUEUE_BLOCKS = 8;
+
+    private static final PriceSeries.Builder END = PriceSeries.builder(0); // Marks the end of the stream
+
+    private final String source;
+    private final int blockBars;
+    private final BlockingQueue<PriceSeries.Builder> free; // Blocks the producer may fill
+    private final BlockingQueue<PriceSeries.Builder> filled; // Parsed blocks, in file order, then END
+    private final Thread producer;
+    private volatile Exception failure; // Set by the producer before it queues END
+    private PriceSeries.Builder current; // Block held by the consumer
+    private boolean finished = false;
+
+    private BarStream(CsvBlockReader reader, String source, int blockBars, int queueBlocks) {
+        this.source = source;
+        this.blockBars = blockBars;
+        int poolSize = queueBlocks + 1; // The queued blocks plus the one being consumed
+        this.free = new ArrayBlockingQueue<>(poolSize);
+        this.filled = new ArrayBlockingQueue<>(poolSize + 1); // Room for END even when every block is queued
+        for (int i = 0; i < poolSize; i++) {
+            free.add(PriceSeries.builder(blockBars));
+        }
+        this.producer = new Thread(() -> produce(reader), "bar-stream-" + source);
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * Opens a CSV file with the default block and queue sizes, resolving columns from the header.
+     *
+     * @param filePath The CSV file.
+     * @return The stream; close it when done.
+     * @throws IOException If the file cannot be opened or its header read.
+     */
+    public static BarStream open(String filePath) throws IOException {
+        return open(Paths.get(filePath), null, DEFAULT_BLOCK_BARS, DEFAULT_QUEUE_BLOCKS);
+    }
+
+    /**
+     * Opens a CSV file for streaming.
+     *
+     * @param path The CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @param blockBars The number of bars per block.
+     * @param queueBlocks The number of parsed blocks the producer may run ahead of the consumer.
+     * @return The stream; close it when done.
+     * @throws IOException If the file cannot be opened or its header read.
+     */
+    public static BarStream open(Path path, CsvColumnMapping mapping, int blockBars, int queueBlocks) throws IOException {
+        if (blockBars <= 0 || queueBlocks <= 0) {
+            throw new IllegalArgumentException("Block and queue sizes must be positive");
+        }
+        return new BarStream(new CsvBlockReader(path, mapping), path.toString(), blockBars, queueBlocks);
+    }
+
+    /**
+     * Returns the next block of bars, waiting for the producer if necessary, and recycles the previous block.
+     * After the last block this returns null, and the last block stays valid until {@link #close()}.
+     *
+     * @return The next block, or null at the end of the file.
+     * @throws UncheckedIOException If the file could not be read.
+     */
+    public PriceSeries next() {
+        if (finished) {
+            return null;
+        }
+        PriceSeries.Builder block;
+        try {
+            block = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for bars", e);
+        }
+        if (block == END) {
+            finished = true;
+            Exception error = failure;
+            if (error instanceof IOException io) {
+                throw new UncheckedIOException("Error reading " + source, io);
+            } else if (error != null) {
+                throw new IllegalStateException("Error reading " + source + ": " + error.getMessage(), error);
+            }
+            return null;
+        }
+        if (current != null) {
+            free.add(current);
+        }
+        current = block;
+        return block.view();
+    }
+
+    /**
+     * Stops the producer (if still running) and releases the file.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void produce(CsvBlockReader reader) {
+        try (reader) {
+            while (true) {
+                PriceSeries.Builder block = free.take();
+                block.clear();
+                int added = reader.fill(block, blockBars);
+                if (added > 0) {
+                    filled.put(block);
+                } else {
+                    free.add(block);
+                }
+                if (added < blockBars) {
+                    break; // End of file
+                }
+            }
+            CsvReader.reportMalformedRows(source, reader.malformedRows());
+        } catch (InterruptedException e) {
+            // Closed by the consumer
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            filled.offer(END);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Number parsing directly from the bytes of a (memory-mapped) buffer, without creating a String per field.
+ * Values that cannot be converted exactly on the fast path fall back to {@link Double#parseDouble(String)},
+ * so results are always identical to the JDK's.
+ */
+public final class ByteParsers {
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53; // Largest integer every double can represent exactly
+
+    private ByteParsers() {
+    }
+
+    /**
+     * Parses a decimal number such as "101.04", "-3", "1.5e3" from {@code buf[start, end)}.
+     * Surrounding spaces and a pair of double quotes are ignored.
+     *
+     * @param buf The buffer holding the text (absolute indexing; position and limit are not touched).
+     * @param start The index of the first byte.
+     * @param end The index after the last byte.
+     * @return The parsed value.
+     * @throws NumberFormatException If the bytes are not a valid number.
+     */
+    public static double parseDouble(ByteBuffer buf, int start, int end) {
+        while (start < end && isBlankOrQuote(buf.get(start))) start++;
+        while (end > start && isBlankOrQuote(buf.get(end - 1))) end--;
+
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf.get(i) == '-' || buf.get(i) == '+')) {
+            negative = buf.get(i) == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        boolean sawDot = false;
+        for (; i < end; i++) {
+            byte b = buf.get(i);
+            if (b >= '0' && b <= '9') {
+                sawDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (sawDot) exponent--; // Leading zero after the point only shifts the exponent
+                    continue;
+                }
+                if (++significantDigits > 18) {
+                    return slowParse(buf, start, end); // Too many digits for the exact fast path
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (sawDot) exponent--;
+            } else if (b == '.' && !sawDot) {
+                sawDot = true;
+            } else {
+                break;
+            }
+        }
+
+        if (i < end && (buf.get(i) == 'e' || buf.get(i) == 'E') && sawDigit) {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < end && (buf.get(j) == '-' || buf.get(j) == '+')) {
+                negativeExponent = buf.get(j) == '-';
+                j++;
+            }
+            int explicitExponent = 0;
+            int exponentStart = j;
+            for (; j < end && buf.get(j) >= '0' && buf.get(j) <= '9' && explicitExponent < 10_000; j++) {
+                explicitExponent = explicitExponent * 10 + (buf.get(j) - '0');
+            }
+            if (j == exponentStart) {
+                return slowParse(buf, start, end);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+            i = j;
+        }
+
+        if (!sawDigit || i != end) {
+            return slowParse(buf, start, end); // Handles NaN/Infinity and reports invalid input
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return slowParse(buf, start, end);
+        }
+        // Both operands are exact doubles, so a single IEEE multiply/divide gives the correctly rounded result
+        double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Copies {@code buf[start, end)} into a String. Only used off the hot path (fallbacks and error messages).
+     */
+    public static String toAsciiString(ByteBuffer buf, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static double slowParse(ByteBuffer buf, int start, int end) {
+        return Double.parseDouble(toAsciiString(buf, start, end));
+    }
+
+    private static boolean isBlankOrQuote(byte b) {
+        return b == ' ' || b == '\t' || b == '"';
+    }
+}
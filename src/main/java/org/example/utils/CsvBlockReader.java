@@ -0,0 +1,180 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a CSV file block by block with bounded memory, for files too large to load or map at once.
+ *
+ * The file is read sequentially through a FileChannel into one reusable direct buffer, and each call to
+ * {@link #fill} parses the next rows into a caller-supplied (typically recycled) builder. Memory use depends only
+ * on the buffer and block sizes, never on the file size. Rows are parsed by the same {@link CsvRowParser} as
+ * {@link MappedCsvReader}, so both readers accept and reject exactly the same rows.
+ * Instances are not thread-safe.
+ */
+public final class CsvBlockReader implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    static final int MAX_REPORTED_ROWS = 1000;
+    static final int MAX_REPORTED_ROW_LENGTH = 200;
+
+    private final FileChannel channel;
+    private final CsvColumnMapping mapping;
+    private final CsvRowParser parser;
+    private ByteBuffer buf;
+    private int pos = 0; // Start of the next unread line
+    private int limit = 0; // End of the bytes read into the buffer
+    private int scanned = 0; // Bytes after pos already searched for a line end
+    private boolean endOfFile = false;
+    private int lineStart; // Bounds of the line returned by nextLine()
+    private int lineEnd;
+    private long lineNumber = 0;
+
+    private long malformedCount = 0;
+    private final List<MalformedRow> malformedRows = new ArrayList<>();
+
+    /**
+     * Opens a file and reads its header row.
+     *
+     * @param path The CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the mapping cannot be resolved from the header.
+     */
+    public CsvBlockReader(Path path, CsvColumnMapping mapping) throws IOException {
+        this(path, mapping, DEFAULT_BUFFER_BYTES);
+    }
+
+    /**
+     * @param path The CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @param bufferBytes The read buffer size (grown only for lines longer than the buffer).
+     * @throws IOException If the file cannot be read.
+     */
+    public CsvBlockReader(Path path, CsvColumnMapping mapping, int bufferBytes) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.buf = ByteBuffer.allocateDirect(Math.max(bufferBytes, 1024));
+            String header = nextLine() ? headerText() : "";
+            this.mapping = mapping != null ? mapping : CsvColumnMapping.fromHeader(header);
+            this.parser = new CsvRowParser(this.mapping);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses rows into {@code block} until it holds {@code maxBars} more bars or the file ends.
+     * Malformed rows are skipped and recorded.
+     *
+     * @param block The builder to append to.
+     * @param maxBars The maximum number of bars to add.
+     * @return The number of bars added; less than {@code maxBars} only at the end of the file.
+     * @throws IOException If the file cannot be read.
+     */
+    public int fill(PriceSeries.Builder block, int maxBars) throws IOException {
+        int added = 0;
+        while (added < maxBars && nextLine()) {
+            int contentEnd = (lineEnd > lineStart && buf.get(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+            if (contentEnd <= lineStart) {
+                continue; // Blank lines are ignored
+            }
+            String error = parser.parse(buf, lineStart, contentEnd, block);
+            if (error == null) {
+                added++;
+            } else {
+                malformedCount++;
+                if (malformedRows.size() < MAX_REPORTED_ROWS) {
+                    int shownEnd = Math.min(contentEnd, lineStart + MAX_REPORTED_ROW_LENGTH);
+                    malformedRows.add(new MalformedRow(lineNumber, error, ByteParsers.toAsciiString(buf, lineStart, shownEnd)));
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * @return The rows skipped so far (the list keeps the first 1000; the count is exact).
+     */
+    public CsvReadResult malformedRows() {
+        return new CsvReadResult(PriceSeries.builder(0).build(), List.copyOf(malformedRows), malformedCount);
+    }
+
+    public CsvColumnMapping getMapping() { return mapping; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Advances to the next line, reading more of the file as needed.
+     *
+     * @return False at the end of the file.
+     */
+    private boolean nextLine() throws IOException {
+        while (true) {
+            for (int i = pos + scanned; i < limit; i++) {
+                if (buf.get(i) == '\n') {
+                    lineStart = pos;
+                    lineEnd = i;
+                    pos = i + 1;
+                    scanned = 0;
+                    lineNumber++;
+                    return true;
+                }
+            }
+            scanned = limit - pos;
+            if (endOfFile) {
+                if (pos == limit) {
+                    return false;
+                }
+                lineStart = pos; // Last line without a terminator
+                lineEnd = limit;
+                pos = limit;
+                scanned = 0;
+                lineNumber++;
+                return true;
+            }
+            refill();
+        }
+    }
+
+    /**
+     * Moves the unread tail to the front of the buffer (growing it if a single line fills it) and reads more.
+     */
+    private void refill() throws IOException {
+        buf.limit(limit).position(pos);
+        buf.compact();
+        if (!buf.hasRemaining()) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(buf.capacity() * 2);
+            buf.flip();
+            larger.put(buf);
+            buf = larger;
+        }
+        int read = channel.read(buf);
+        if (read < 0) {
+            endOfFile = true;
+        }
+        limit = buf.position();
+        pos = 0;
+    }
+
+    private String headerText() {
+        byte[] bytes = new byte[lineEnd - lineStart];
+        buf.get(lineStart, bytes);
+        String line = new String(bytes, StandardCharsets.UTF_8);
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1); // Byte order mark written by some spreadsheet exports
+        }
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.utils;
+
+import java.util.Locale;
+
+/**
+ * Describes which CSV column holds each field of a bar.
+ * Columns are zero-based; {@link #ABSENT} marks a field that the file does not contain.
+ * A mapping needs at least a date and a close column; missing open/high/low default to the close
+ * and a missing volume defaults to zero.
+ */
+public final class CsvColumnMapping {
+    public static final int ABSENT = -1;
+
+    private final int dateColumn;
+    private final int openColumn;
+    private final int highColumn;
+    private final int lowColumn;
+    private final int closeColumn;
+    private final int volumeColumn;
+
+    private CsvColumnMapping(int dateColumn, int openColumn, int highColumn, int lowColumn,
+                             int closeColumn, int volumeColumn) {
+        if (dateColumn < 0 || closeColumn < 0) {
+            throw new IllegalArgumentException("A column mapping needs both a date and a close column");
+        }
+        this.dateColumn = dateColumn;
+        this.openColumn = openColumn;
+        this.highColumn = highColumn;
+        this.lowColumn = lowColumn;
+        this.closeColumn = closeColumn;
+        this.volumeColumn = volumeColumn;
+    }
+
+    /**
+     * Mapping for (date, close) files such as {@code data/sample_market_data.csv}.
+     */
+    public static CsvColumnMapping dateClose(int dateColumn, int closeColumn) {
+        return new CsvColumnMapping(dateColumn, ABSENT, ABSENT, ABSENT, closeColumn, ABSENT);
+    }
+
+    /**
+     * Mapping for full OHLCV files. Pass {@link #ABSENT} for any column the file lacks.
+     */
+    public static CsvColumnMapping ohlcv(int dateColumn, int openColumn, int highColumn, int lowColumn,
+                                         int closeColumn, int volumeColumn) {
+        return new CsvColumnMapping(dateColumn, openColumn, highColumn, lowColumn, closeColumn, volumeColumn);
+    }
+
+    /**
+     * Resolves the mapping from a header row by column name (case-insensitive).
+     * Recognises date/time/timestamp, open, high, low, close/price (or any name ending in "close", e.g. "aapl_close")
+     * and volume. A two-column file without recognisable names is read as (date, close).
+     *
+     * @param headerLine The first line of the file.
+     * @return The resolved mapping.
+     * @throws IllegalArgumentException If no close column can be identified.
+     */
+    public static CsvColumnMapping fromHeader(String headerLine) {
+        String[] names = headerLine.split(",");
+        int date = ABSENT, open = ABSENT, high = ABSENT, low = ABSENT, close = ABSENT, volume = ABSENT;
+        int closeSuffix = ABSENT; // A column like "aapl_close", used when there is no exact "close"
+
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim().replace("\"", "").toLowerCase(Locale.ROOT);
+            switch (name) {
+                case "date", "time", "timestamp", "datetime" -> date = date == ABSENT ? i : date;
+                case "open" -> open = i;
+                case "high" -> high = i;
+                case "low" -> low = i;
+                case "close", "close_price", "price" -> close = close == ABSENT ? i : close;
+                case "volume", "vol" -> volume = i;
+                default -> {
+                    if (name.endsWith("close") && !name.startsWith("adj") && closeSuffix == ABSENT) {
+                        closeSuffix = i;
+                    }
+                }
+            }
+        }
+        if (close == ABSENT) close = closeSuffix;
+        if (names.length == 2 && close == ABSENT && date != 1) close = 1;
+        if (date == ABSENT && close != 0) date = 0;
+        if (close == ABSENT) {
+            throw new IllegalArgumentException("Could not find a close price column in header: " + headerLine);
+        }
+        return new CsvColumnMapping(date, open, high, low, close, volume);
+    }
+
+    /**
+     * @return True if the file has any of open/high/low/volume, i.e. the series needs full OHLCV columns.
+     */
+    public boolean hasOhlcv() {
+        return openColumn != ABSENT || highColumn != ABSENT || lowColumn != ABSENT || volumeColumn != ABSENT;
+    }
+
+    /**
+     * @return The number of columns a row must have for every mapped field to be present.
+     */
+    public int requiredColumns() {
+        int max = Math.max(dateColumn, closeColumn);
+        max = Math.max(max, Math.max(openColumn, Math.max(highColumn, Math.max(lowColumn, volumeColumn))));
+        return max + 1;
+    }
+
+    public int getDateColumn() { return dateColumn; }
+    public int getOpenColumn() { return openColumn; }
+    public int getHighColumn() { return highColumn; }
+    public int getLowColumn() { return lowColumn; }
+    public int getCloseColumn() { return closeColumn; }
+    public int getVolumeColumn() { return volumeColumn; }
+
+    @Override
+    public String toString() {
+        return "CsvColumnMapping [date=" + dateColumn + ", open=" + openColumn + ", high=" + highColumn
+                + ", low=" + lowColumn + ", close=" + closeColumn + ", volume=" + volumeColumn + "]";
+    }
+}
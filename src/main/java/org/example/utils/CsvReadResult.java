@@ -0,0 +1,25 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.util.List;
+
+/**
+ * Outcome of reading a CSV file with {@link MappedCsvReader}: the parsed bars plus the rows that were rejected.
+ */
+public final class CsvReadResult {
+    private final PriceSeries series;
+    private final List<MalformedRow> malformedRows; // Details of the first rejected rows
+    private final long malformedCount; // Total number of rejected rows, including those without details
+
+    public CsvReadResult(PriceSeries series, List<MalformedRow> malformedRows, long malformedCount) {
+        this.series = series;
+        this.malformedRows = malformedRows;
+        this.malformedCount = malformedCount;
+    }
+
+    public PriceSeries getSeries() { return series; }
+    public List<MalformedRow> getMalformedRows() { return malformedRows; }
+    public long getMalformedCount() { return malformedCount; }
+    public boolean hasMalformedRows() { return malformedCount > 0; }
+}
@@ -3,48 +3,130 @@ package org.example.utils;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.List;
 import org.example.models.MarketDataPoint; // Import the MarketDataPoint model class
+import org.example.models.PriceSeries;
 
 public class CsvReader {
 
     /**
-     * Reads a CSV file containing market data and converts each row into a MarketDataPoint Object
+     * Reads a CSV file containing market data and converts each row into a MarketDataPoint Object.
+     * Columns are resolved from the header row; files with open/high/low/volume columns produce OHLCV points.
+     * Malformed rows are skipped and reported on stderr, the same way {@link #readSeries(String)} reports them.
      *
      * @param filePath The path to the CSV file.
-     * @return A list of MarketDataPoint objects containing the date and close price.
+     * @return A list of MarketDataPoint objects containing the date and prices.
      */
 
     public static List<MarketDataPoint> readCsv(String filePath) {
         List<MarketDataPoint> data = new ArrayList<>(); // List to store parsed market data
+        List<MalformedRow> malformedRows = new ArrayList<>();
+        long malformedCount = 0;
 
         try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            boolean headerSkipped = false; // Track whether we've skipped the first row
+            String line = br.readLine(); // The header names the columns
+            if (line == null) {
+                return data;
+            }
+            CsvColumnMapping mapping = CsvColumnMapping.fromHeader(line);
+            int columns = mapping.requiredColumns();
+            long lineNumber = 1;
 
             while ((line = br.readLine()) != null) {    // Read each line from the file
-                if (!headerSkipped) {
-                    // Skip the header if we're at the beginning of the file
-                    headerSkipped = true;
-                    continue;
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue; // Blank lines are ignored
                 }
-
                 // Split the line by commas to extract individual values
                 String[] values = line.split(",");
 
-                // Check to make sure the row contains exactly 2 items (date, close price)
-                if (values.length == 2) {
-                    String date = values[0];
-                    double closePrice = Double.parseDouble(values[1]); // Convert the close price to a double
-
-                    // Create a MarketDataPoint object and add it to the list
-                    data.add(new MarketDataPoint(date, closePrice));
+                // Check to make sure the row contains every mapped column
+                String error;
+                if (values.length < columns) {
+                    error = "expected at least " + columns + " columns but found " + values.length;
+                } else {
+                    try {
+                        data.add(parsePoint(values, mapping));
+                        continue;
+                    } catch (IllegalArgumentException | DateTimeException e) {
+                        error = "unparseable value (" + e.getMessage() + ")";
+                    }
+                }
+                malformedCount++;
+                if (malformedRows.size() < CsvBlockReader.MAX_REPORTED_ROWS) {
+                    String shown = line.substring(0, Math.min(line.length(), CsvBlockReader.MAX_REPORTED_ROW_LENGTH));
+                    malformedRows.add(new MalformedRow(lineNumber, error, shown));
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("Error reading CSV: " + e.getMessage());
         }
+        reportMalformedRows(filePath, new CsvReadResult(PriceSeries.builder(0).build(), malformedRows, malformedCount));
         return data;    // Return the list of market data points
     }
+
+    private static MarketDataPoint parsePoint(String[] values, CsvColumnMapping mapping) {
+        long timestamp = DateUtils.parseEpochMillis(values[mapping.getDateColumn()]); // Parsed once, here
+        double closePrice = Double.parseDouble(values[mapping.getCloseColumn()]); // Convert the close price to a double
+
+        // Create a MarketDataPoint object for the row
+        if (mapping.hasOhlcv()) {
+            return new MarketDataPoint(timestamp,
+                    column(values, mapping.getOpenColumn(), closePrice),
+                    column(values, mapping.getHighColumn(), closePrice),
+                    column(values, mapping.getLowColumn(), closePrice),
+                    closePrice,
+                    column(values, mapping.getVolumeColumn(), 0));
+        }
+        return new MarketDataPoint(timestamp, closePrice);
+    }
+
+    private static double column(String[] values, int column, double fallback) {
+        return column == CsvColumnMapping.ABSENT ? fallback : Double.parseDouble(values[column]);
+    }
+
+    /**
+     * Reads a CSV file straight into a columnar PriceSeries using the memory-mapped reader.
+     * Columns are resolved from the header row, and malformed rows are reported on stderr instead of being skipped silently.
+     *
+     * @param filePath The path to the CSV file.
+     * @return A PriceSeries holding the parsed bars.
+     */
+    public static PriceSeries readSeries(String filePath) {
+        return readSeries(filePath, null, false);
+    }
+
+    /**
+     * Reads a CSV file into a PriceSeries using the memory-mapped reader.
+     *
+     * @param filePath The path to the CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @param parallel True to parse chunks of very large files on all cores.
+     * @return A PriceSeries holding the parsed bars (empty if the file could not be read).
+     */
+    public static PriceSeries readSeries(String filePath, CsvColumnMapping mapping, boolean parallel) {
+        try {
+            CsvReadResult result = MappedCsvReader.read(Paths.get(filePath), mapping, parallel);
+            reportMalformedRows(filePath, result);
+            return result.getSeries();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading CSV: " + e.getMessage());
+            return PriceSeries.builder(0).build();
+        }
+    }
+
+    /**
+     * Prints the rows a read rejected to stderr.
+     */
+    static void reportMalformedRows(String filePath, CsvReadResult result) {
+        if (result.hasMalformedRows()) {
+            System.err.println("Skipped " + result.getMalformedCount() + " malformed row(s) in " + filePath + ":");
+            for (MalformedRow row : result.getMalformedRows()) {
+                System.err.println("  " + row);
+            }
+        }
+    }
 }
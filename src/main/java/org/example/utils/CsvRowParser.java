@@ -0,0 +1,76 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses one CSV row from a byte buffer into a {@link PriceSeries.Builder}.
+ * Field boundaries are kept in scratch arrays owned by the parser, so parsing a row allocates nothing
+ * unless the row is malformed. Instances are not thread-safe; use one per parsing thread.
+ */
+final class CsvRowParser {
+    private final CsvColumnMapping mapping;
+    private final int requiredColumns;
+    private final boolean ohlcv;
+    private final int[] fieldStart; // Start index of each field in the current row
+    private final int[] fieldEnd; // End index (exclusive) of each field in the current row
+
+    CsvRowParser(CsvColumnMapping mapping) {
+        this.mapping = mapping;
+        this.requiredColumns = mapping.requiredColumns();
+        this.ohlcv = mapping.hasOhlcv();
+        this.fieldStart = new int[requiredColumns];
+        this.fieldEnd = new int[requiredColumns];
+    }
+
+    /**
+     * Parses the row in {@code buf[start, end)} (without its line terminator) and appends it to the builder.
+     *
+     * @return null if the row was added, otherwise a description of why it was rejected.
+     */
+    String parse(ByteBuffer buf, int start, int end, PriceSeries.Builder builder) {
+        int field = 0;
+        fieldStart[0] = start;
+        for (int i = start; i < end && field < requiredColumns; i++) {
+            if (buf.get(i) == ',') {
+                fieldEnd[field++] = i;
+                if (field < requiredColumns) {
+                    fieldStart[field] = i + 1;
+                }
+            }
+        }
+        if (field < requiredColumns) {
+            if (field == requiredColumns - 1) {
+                fieldEnd[field++] = end; // The last required field runs to the end of the row
+            } else {
+                return "expected at least " + requiredColumns + " columns but found " + (field + 1);
+            }
+        }
+
+        try {
+            long timestamp = DateUtils.parseEpochMillis(buf, fieldStart[mapping.getDateColumn()], fieldEnd[mapping.getDateColumn()]);
+            double close = column(buf, mapping.getCloseColumn());
+            if (!ohlcv) {
+                builder.add(timestamp, close);
+                return null;
+            }
+            double open = optionalColumn(buf, mapping.getOpenColumn(), close);
+            double high = optionalColumn(buf, mapping.getHighColumn(), close);
+            double low = optionalColumn(buf, mapping.getLowColumn(), close);
+            double volume = optionalColumn(buf, mapping.getVolumeColumn(), 0);
+            builder.add(timestamp, open, high, low, close, volume);
+            return null;
+        } catch (RuntimeException e) {
+            return "unparseable value (" + e.getMessage() + ")";
+        }
+    }
+
+    private double column(ByteBuffer buf, int column) {
+        return ByteParsers.parseDouble(buf, fieldStart[column], fieldEnd[column]);
+    }
+
+    private double optionalColumn(ByteBuffer buf, int column, double fallback) {
+        return column == CsvColumnMapping.ABSENT ? fallback : column(buf, column);
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.utils;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversions between the date strings found in market data files and epoch timestamps.
+ * All timestamps are milliseconds since 1970-01-01T00:00:00Z; dates without a time of day map to UTC midnight.
+ */
+public final class DateUtils {
+    public static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final int MAX_FAST_LENGTH = 40; // Longer strings cannot be a date-time shape the fast path knows
+
+    private DateUtils() {
+    }
+
+    /**
+     * Parses a date ("2023-01-02") or ISO-8601 timestamp ("2023-01-02T09:30:00", optionally with an offset or 'Z').
+     * The common shapes go through the same allocation-light digit decoder as {@link #parseEpochMillis(ByteBuffer,
+     * int, int)}; java.time is only used for anything else.
+     *
+     * @param text The date string.
+     * @return The epoch milliseconds (UTC).
+     */
+    public static long parseEpochMillis(String text) {
+        int length = text.length();
+        if (length > MAX_FAST_LENGTH) {
+            return parseIso(text);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c > 0x7F) {
+                return parseIso(text);
+            }
+            bytes[i] = (byte) c;
+        }
+        return parseEpochMillis(ByteBuffer.wrap(bytes), 0, length);
+    }
+
+    /**
+     * Parses any date or timestamp shape accepted by {@link #parseEpochMillis(String)} with java.time.
+     */
+    private static long parseIso(String text) {
+        String value = text.trim();
+        if (value.length() == 10) {
+            return LocalDate.parse(value).toEpochDay() * MILLIS_PER_DAY;
+        }
+        char last = value.charAt(value.length() - 1);
+        if (last == 'Z' || value.lastIndexOf('+') > 10 || value.lastIndexOf('-') > 10) {
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        }
+        return LocalDateTime.parse(value.replace(' ', 'T')).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Formats a timestamp back to text: "yyyy-MM-dd" for midnight timestamps, ISO local date-time otherwise.
+     *
+     * @param epochMillis The epoch milliseconds (UTC).
+     * @return The formatted date.
+     */
+    public static String format(long epochMillis) {
+        if (epochMillis % MILLIS_PER_DAY == 0) {
+            return LocalDate.ofEpochDay(epochMillis / MILLIS_PER_DAY).toString();
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC).toString();
+    }
+
+    /**
+     * Parses a date or ISO-8601 timestamp directly from {@code buf[start, end)}.
+     * "yyyy-MM-dd" and "yyyy-MM-dd[T| ]HH:mm[:ss[.SSS]][Z|+HH:MM]" are decoded from the digits without
+     * allocating; anything else falls back to java.time.
+     *
+     * @param buf The buffer holding the text (absolute indexing; position and limit are not touched).
+     * @param start The index of the first byte.
+     * @param end The index after the last byte.
+     * @return The epoch milliseconds (UTC).
+     */
+    public static long parseEpochMillis(ByteBuffer buf, int start, int end) {
+        while (start < end && (buf.get(start) == ' ' || buf.get(start) == '"')) start++;
+        while (end > start && (buf.get(end - 1) == ' ' || buf.get(end - 1) == '"')) end--;
+
+        int length = end - start;
+        if (length < 10 || buf.get(start + 4) != '-' || buf.get(start + 7) != '-') {
+            return parseIso(ByteParsers.toAsciiString(buf, start, end));
+        }
+        int year = digits(buf, start, 4);
+        int month = digits(buf, start + 5, 2);
+        int day = digits(buf, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return parseIso(ByteParsers.toAsciiString(buf, start, end));
+        }
+        long millis = epochDay(year, month, day) * MILLIS_PER_DAY;
+        if (length == 10) {
+            return millis;
+        }
+
+        long timeOfDay = parseTimeOfDay(buf, start + 10, end);
+        if (timeOfDay < 0) {
+            return parseIso(ByteParsers.toAsciiString(buf, start, end));
+        }
+        return millis + timeOfDay;
+    }
+
+    /**
+     * Decodes "THH:mm[:ss[.fraction]][Z|+HH:MM|+HHMM]" into milliseconds after midnight UTC.
+     *
+     * @return The offset in milliseconds, or -1 if the text is not in that shape.
+     */
+    private static long parseTimeOfDay(ByteBuffer buf, int i, int end) {
+        byte separator = buf.get(i);
+        if ((separator != 'T' && separator != ' ') || end - i < 6 || buf.get(i + 3) != ':') {
+            return -1;
+        }
+        int hour = digits(buf, i + 1, 2);
+        int minute = digits(buf, i + 4, 2);
+        int second = 0;
+        int millis = 0;
+        i += 6;
+        if (i < end && buf.get(i) == ':') {
+            if (end - i < 3) return -1;
+            second = digits(buf, i + 1, 2);
+            i += 3;
+            if (i < end && buf.get(i) == '.') {
+                i++;
+                int scale = 100;
+                for (; i < end && buf.get(i) >= '0' && buf.get(i) <= '9'; i++) {
+                    millis += (buf.get(i) - '0') * scale; // Digits beyond milliseconds are truncated
+                    scale /= 10;
+                }
+            }
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        long offsetMillis = 0;
+        if (i < end) {
+            byte zone = buf.get(i);
+            if (zone == 'Z' && i + 1 == end) {
+                offsetMillis = 0;
+            } else if ((zone == '+' || zone == '-') && (end - i == 6 || end - i == 5)) {
+                int offsetHours = digits(buf, i + 1, 2);
+                int offsetMinutes = digits(buf, end - 2, 2);
+                if (offsetHours < 0 || offsetMinutes < 0 || (end - i == 6 && buf.get(i + 3) != ':')) return -1;
+                if (offsetMinutes > 59 || offsetHours * 60 + offsetMinutes > 18 * 60) return -1; // java.time rejects these
+                offsetMillis = (offsetHours * 60L + offsetMinutes) * 60_000L * (zone == '+' ? 1 : -1);
+            } else {
+                return -1;
+            }
+        }
+        return ((hour * 60L + minute) * 60 + second) * 1000 + millis - offsetMillis;
+    }
+
+    /**
+     * @return The value of {@code count} ASCII digits starting at {@code start}, or -1 if any byte is not a digit.
+     */
+    private static int digits(ByteBuffer buf, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = buf.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's days_from_civil).
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.utils;
+
+/**
+ * A CSV row that could not be turned into a bar, reported instead of being silently dropped.
+ */
+public final class MalformedRow {
+    private final long lineNumber; // 1-based line number in the file (the header is line 1)
+    private final String reason; // Why the row was rejected
+    private final String content; // The row text, truncated for very long lines
+
+    public MalformedRow(long lineNumber, String reason, String content) {
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+        this.content = content;
+    }
+
+    public long getLineNumber() { return lineNumber; }
+    public String getReason() { return reason; }
+    public String getContent() { return content; }
+
+    /**
+     * Returns a copy of this row moved by a number of lines (used when merging chunks parsed in parallel).
+     */
+    MalformedRow shiftedBy(long lines) {
+        return new MalformedRow(lineNumber + lines, reason, content);
+    }
+
+    @Override
+    public String toString() {
+        return "line " + lineNumber + ": " + reason + " [" + content + "]";
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.utils;
+
+import org.example.models.PriceSeries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * High-throughput CSV reader that memory-maps the file and parses dates and numbers straight from the bytes.
+ * No String is created per row; rows that cannot be parsed are collected into the {@link CsvReadResult}
+ * rather than skipped silently.
+ *
+ * In parallel mode the file is split into line-aligned chunks that are mapped and parsed on the
+ * common fork-join pool, then concatenated in file order.
+ */
+public final class MappedCsvReader {
+    private static final long MAX_SEGMENT_BYTES = 1L << 30; // A single mapping must stay below 2 GB
+    private static final long MIN_PARALLEL_SEGMENT_BYTES = 1L << 20; // Smaller chunks are not worth a task
+    private static final int MAX_REPORTED_ROWS = 1000; // Details kept per read; the count is always exact
+    private static final int MAX_REPORTED_ROW_LENGTH = 200;
+
+    private MappedCsvReader() {
+    }
+
+    /**
+     * Reads a CSV file whose first line is a header.
+     *
+     * @param path The CSV file.
+     * @param mapping The column mapping, or null to resolve it from the header row.
+     * @param parallel True to parse line-aligned chunks of the file concurrently.
+     * @return The parsed series and any malformed rows.
+     * @throws IOException If the file cannot be read.
+     */
+    public static CsvReadResult read(Path path, CsvColumnMapping mapping, boolean parallel) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new CsvReadResult(PriceSeries.builder(0).build(), List.of(), 0);
+            }
+            long headerEnd = findLineEnd(channel, 0, size);
+            if (mapping == null) {
+                mapping = CsvColumnMapping.fromHeader(readHeader(channel, headerEnd));
+            }
+            long dataStart = Math.min(headerEnd + 1, size);
+
+            long dataBytes = size - dataStart;
+            int segments = (int) Math.max(1, (dataBytes + MAX_SEGMENT_BYTES - 1) / MAX_SEGMENT_BYTES);
+            if (parallel) {
+                int cores = Runtime.getRuntime().availableProcessors();
+                segments = (int) Math.max(segments, Math.min(cores, dataBytes / MIN_PARALLEL_SEGMENT_BYTES));
+            }
+            long[] bounds = new long[segments + 1];
+            bounds[0] = dataStart;
+            bounds[segments] = size;
+            for (int k = 1; k < segments; k++) {
+                long nominal = dataStart + dataBytes / segments * k;
+                bounds[k] = Math.max(bounds[k - 1], nextLineStart(channel, nominal, size));
+            }
+
+            CsvColumnMapping resolved = mapping;
+            IntStream chunkIndexes = IntStream.range(0, segments);
+            if (parallel) {
+                chunkIndexes = chunkIndexes.parallel();
+            }
+            List<Chunk> chunks = chunkIndexes
+                    .mapToObj(k -> parseChunk(channel, bounds[k], bounds[k + 1], resolved))
+                    .toList();
+            return merge(chunks);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses the complete lines in {@code [start, end)} of the file.
+     */
+    private static Chunk parseChunk(FileChannel channel, long start, long end, CsvColumnMapping mapping) {
+        MappedByteBuffer buf;
+        try {
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int limit = (int) (end - start);
+        CsvRowParser parser = new CsvRowParser(mapping);
+        PriceSeries.Builder builder = PriceSeries.builder(limit / 32);
+        Chunk chunk = new Chunk();
+
+        int pos = 0;
+        while (pos < limit) {
+            int lineEnd = pos;
+            while (lineEnd < limit && buf.get(lineEnd) != '\n') lineEnd++;
+            chunk.lines++;
+            int contentEnd = (lineEnd > pos && buf.get(lineEnd - 1) == '\r') ? lineEnd - 1 : lineEnd;
+
+            if (contentEnd > pos) { // Blank lines are ignored
+                String error = parser.parse(buf, pos, contentEnd, builder);
+                if (error != null) {
+                    chunk.malformedCount++;
+                    if (chunk.malformedRows.size() < MAX_REPORTED_ROWS) {
+                        int shownEnd = Math.min(contentEnd, pos + MAX_REPORTED_ROW_LENGTH);
+                        chunk.malformedRows.add(new MalformedRow(chunk.lines, error, ByteParsers.toAsciiString(buf, pos, shownEnd)));
+                    }
+                }
+            }
+            pos = lineEnd + 1;
+        }
+        chunk.series = builder.build();
+        return chunk;
+    }
+
+    /**
+     * Concatenates chunk results in file order and converts chunk-local line numbers to file line numbers.
+     */
+    private static CsvReadResult merge(List<Chunk> chunks) {
+        List<PriceSeries> parts = new ArrayList<>(chunks.size());
+        List<MalformedRow> malformedRows = new ArrayList<>();
+        long malformedCount = 0;
+        long linesBefore = 1; // The header line
+
+        for (Chunk chunk : chunks) {
+            parts.add(chunk.series);
+            malformedCount += chunk.malformedCount;
+            for (MalformedRow row : chunk.malformedRows) {
+                if (malformedRows.size() < MAX_REPORTED_ROWS) {
+                    malformedRows.add(row.shiftedBy(linesBefore));
+                }
+            }
+            linesBefore += chunk.lines;
+        }
+        PriceSeries series = parts.size() == 1 ? parts.get(0) : PriceSeries.concat(parts);
+        return new CsvReadResult(series, malformedRows, malformedCount);
+    }
+
+    /**
+     * @return The index of the first '\n' at or after {@code from}, or {@code size} if there is none.
+     */
+    private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer scratch = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            scratch.clear();
+            int read = channel.read(scratch, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scratch.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * @return {@code position} if it starts a line, otherwise the start of the next line.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        return Math.min(findLineEnd(channel, position - 1, size) + 1, size);
+    }
+
+    private static String readHeader(FileChannel channel, long headerEnd) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate((int) headerEnd);
+        channel.read(header, 0);
+        String line = new String(header.array(), StandardCharsets.UTF_8);
+        if (line.startsWith("\uFEFF")) {
+            line = line.substring(1); // Byte order mark written by some spreadsheet exports
+        }
+        return line.endsWith("\r") ? line.substring(0, line.length() - 1) : line;
+    }
+
+    /**
+     * Parse state of one line-aligned chunk of the file.
+     */
+    private static final class Chunk {
+        PriceSeries series;
+        final List<MalformedRow> malformedRows = new ArrayList<>();
+        long malformedCount = 0;
+        long lines = 0; // Lines seen in this chunk, used to number rows across chunks
+    }
+}
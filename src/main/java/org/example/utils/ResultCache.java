@@ -0,0 +1,312 @@
+package org.example.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.example.models.BacktestResult;
+import org.example.models.EquityCurve;
+import org.example.models.PerformanceMetrics;
+import org.example.models.PriceSeries;
+import org.example.models.Trade;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of backtest results keyed by the input data and everything else that determines a run.
+ *
+ * A key joins a fingerprint of the price series (a 128-bit hash of every bar, memoised per series instance) with
+ * a caller-supplied run key describing the strategy and its parameters. The memory tier is an LRU cache bounded by
+ * the estimated heap size of the cached trades, metrics and equity curves. The optional disk tier keeps one file
+ * per result, so identical runs are also served across processes; because keys are derived from the data itself
+ * rather than from file names, an edited dataset simply gets new keys.
+ *
+ * Disk file layout (little-endian): magic, version, key length, key bytes, padding to 8 bytes, the metrics, the
+ * equity curve point count (-1 if none) and its timestamp and equity columns, then the trades as a
+ * {@link TradeBinaryWriter} stream. {@link #VERSION} is raised whenever the engine's results change, which
+ * invalidates every file written before.
+ */
+public final class ResultCache {
+    public static final String CACHE_DIRECTORY = ".result_cache";
+
+    static final int MAGIC = 0x52534c54; // "RSLT"
+    static final int VERSION = 4;
+
+    private static final int METRIC_COUNT = 15;
+    private static final int TRADE_BYTES = 96; // Estimated heap size of a Trade and its list slot
+    private static final int RESULT_BYTES = 256; // Result, metrics and key overhead
+    private static final long MAP_THRESHOLD = 1 << 20; // Larger files are memory-mapped instead of read
+
+    private final Cache<String, BacktestResult> memory;
+    private final Path directory; // Disk tier, or null for memory only
+    private final Cache<PriceSeries, String> fingerprints = CacheBuilder.newBuilder().weakKeys().build();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a memory-only cache.
+     *
+     * @param maxBytes The memory budget; least recently used results are evicted beyond it.
+     */
+    public ResultCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes The memory budget; least recently used results are evicted beyond it.
+     * @param directory The directory of the disk tier (created on first write), or null for memory only.
+     */
+    public ResultCache(long maxBytes, Path directory) {
+        this.memory = CacheBuilder.newBuilder()
+                .concurrencyLevel(1) // One segment, so the whole budget is one LRU rather than four smaller ones
+                .maximumWeight(maxBytes)
+                .weigher((String key, BacktestResult result) -> estimateBytes(key, result))
+                .build();
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cached result of a run, computing and caching it on a miss.
+     * Concurrent callers asking for the same key wait for one computation instead of repeating it.
+     *
+     * @param marketData The series the run reads (its fingerprint becomes part of the key).
+     * @param runKey Everything else that determines the result: strategy, parameters, balance, window, ...
+     * @param run Computes the result on a miss.
+     * @return The result; its trade list is shared between callers and cannot be modified.
+     */
+    public BacktestResult getOrRun(PriceSeries marketData, String runKey, Supplier<BacktestResult> run) {
+        String key = fingerprint(marketData) + "|" + runKey;
+        BacktestResult cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+        try {
+            return memory.get(key, () -> load(key, run));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Backtest failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Drops every result from memory (the disk tier is kept).
+     */
+    public void invalidateAll() {
+        memory.invalidateAll();
+    }
+
+    public long getMemoryHits() { return memoryHits.sum(); }
+    public long getDiskHits() { return diskHits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    @Override
+    public String toString() {
+        return String.format("ResultCache[%d entries, %d memory hits, %d disk hits, %d misses]",
+                memory.size(), getMemoryHits(), getDiskHits(), getMisses());
+    }
+
+    /**
+     * Returns the fingerprint of a series: its bar count plus a murmur3 hash of every column.
+     * Computed once per series instance; series are immutable, so the value never goes stale.
+     */
+    public String fingerprint(PriceSeries series) {
+        try {
+            return fingerprints.get(series, () -> computeFingerprint(series));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static String computeFingerprint(PriceSeries series) {
+        int n = series.size();
+        Hasher hasher = Hashing.murmur3_128().newHasher()
+                .putInt(n).putBoolean(series.hasOhlc()).putBoolean(series.hasVolume());
+        for (int i = 0; i < n; i++) {
+            hasher.putLong(series.getTimestamp(i)).putDouble(series.getClose(i));
+        }
+        if (series.hasOhlc()) {
+            for (int i = 0; i < n; i++) {
+                hasher.putDouble(series.getOpen(i)).putDouble(series.getHigh(i)).putDouble(series.getLow(i));
+            }
+        }
+        if (series.hasVolume()) {
+            for (int i = 0; i < n; i++) {
+                hasher.putDouble(series.getVolume(i));
+            }
+        }
+        return n + ":" + hasher.hash();
+    }
+
+    private BacktestResult load(String key, Supplier<BacktestResult> run) {
+        Path file = directory == null ? null : fileFor(key);
+        if (file != null && Files.exists(file)) {
+            try {
+                BacktestResult stored = read(file, key);
+                if (stored != null) {
+                    diskHits.increment();
+                    return stored;
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Ignoring unreadable result cache " + file + ": " + e.getMessage());
+            }
+        }
+
+        misses.increment();
+        BacktestResult computed = run.get();
+        BacktestResult result = new BacktestResult(List.copyOf(computed.getTradeHistory()), computed.getMetrics(),
+                computed.getEquityCurve());
+        if (file != null) {
+            try {
+                write(result, file, key);
+            } catch (IOException e) {
+                System.err.println("Could not write result cache " + file + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + ".result");
+    }
+
+    /**
+     * Reads a result file if it was written for the key.
+     *
+     * @return The stored result, or null if the file belongs to another key or an older version.
+     */
+    static BacktestResult read(Path file, String key) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = readFully(channel);
+            if (buf.remaining() < 12 || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                return null;
+            }
+            byte[] keyBytes = new byte[buf.getInt()];
+            if (keyBytes.length > buf.remaining()) {
+                return null;
+            }
+            buf.get(keyBytes);
+            if (!key.equals(new String(keyBytes, StandardCharsets.UTF_8))) {
+                return null; // Hash collision on the file name
+            }
+            buf.position(TradeBinaryWriter.align8(buf.position()));
+
+            PerformanceMetrics metrics = new PerformanceMetrics(buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                    (int) buf.getLong(), buf.getDouble(), buf.getDouble(), buf.getDouble(), (int) buf.getLong(),
+                    buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                    buf.getDouble(), buf.getDouble());
+            EquityCurve curve = null;
+            long points = buf.getLong();
+            if (points >= 0) {
+                long[] timestamps = new long[Math.toIntExact(points)];
+                double[] equity = new double[timestamps.length];
+                buf.asLongBuffer().get(timestamps);
+                buf.position(buf.position() + timestamps.length * Long.BYTES);
+                buf.asDoubleBuffer().get(equity);
+                buf.position(buf.position() + equity.length * Double.BYTES);
+                curve = new EquityCurve(timestamps, equity);
+            }
+            List<Trade> trades = TradeBinaryReader.read(buf, file);
+            return new BacktestResult(List.copyOf(trades), metrics, curve);
+        }
+    }
+
+    /**
+     * Writes a result file under a temporary name and moves it into place, so readers never see a partial file.
+     */
+    static void write(BacktestResult result, Path file, String key) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            EquityCurve curve = result.getEquityCurve();
+            int points = curve == null ? 0 : curve.size();
+            ByteBuffer header = ByteBuffer.allocate(TradeBinaryWriter.align8(12 + keyBytes.length)
+                    + (METRIC_COUNT + 1) * 8 + points * 16).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(keyBytes.length).put(keyBytes);
+            header.position(TradeBinaryWriter.align8(header.position()));
+
+            PerformanceMetrics m = result.getMetrics();
+            header.putDouble(m.getFinalBalance()).putDouble(m.getTotalReturn()).putDouble(m.getAnnualizedReturn())
+                    .putLong(m.getTotalTrades()).putDouble(m.getWinRate()).putDouble(m.getProfitFactor())
+                    .putDouble(m.getMaxDrawdown()).putLong(m.getMaxDrawdownDuration()).putDouble(m.getVolatility())
+                    .putDouble(m.getSharpeRatio()).putDouble(m.getSortinoRatio()).putDouble(m.getCalmarRatio())
+                    .putDouble(m.getExposure()).putDouble(m.getCommissions()).putDouble(m.getSlippage());
+            header.putLong(curve == null ? -1 : points);
+            for (int i = 0; i < points; i++) header.putLong(curve.getTimestamp(i));
+            for (int i = 0; i < points; i++) header.putDouble(curve.getEquity(i));
+            header.flip();
+
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            try (TradeBinaryWriter trades = new TradeBinaryWriter(writeFully(channel, header), 4096)) {
+                trades.writeAll(result.getTradeHistory());
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a whole file into a heap buffer. Result files are usually small, and for them one read costs less
+     * than mapping and unmapping the file.
+     */
+    private static ByteBuffer readFully(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > MAP_THRESHOLD) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buf.hasRemaining() && channel.read(buf) >= 0) {
+            // Read until full
+        }
+        return buf.flip();
+    }
+
+    private static FileChannel writeFully(FileChannel channel, ByteBuffer buf) throws IOException {
+        try {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static int estimateBytes(String key, BacktestResult result) {
+        long bytes = RESULT_BYTES + 2L * key.length() + (long) TRADE_BYTES * result.getTradeHistory().size();
+        if (result.getEquityCurve() != null) {
+            bytes += 16L * result.getEquityCurve().size();
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.utils;
+
+import org.example.models.Trade;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads trade files written by {@link TradeBinaryWriter}.
+ */
+public final class TradeBinaryReader {
+
+    private TradeBinaryReader() {
+    }
+
+    /**
+     * Reads every trade of a binary trade file.
+     *
+     * @param filePath The file to read.
+     * @return The trades, in the order they were written.
+     * @throws IOException If the file cannot be read or is not a valid trade file.
+     */
+    public static List<Trade> read(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Trade file too large to map: " + filePath);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return read(mapped.order(ByteOrder.LITTLE_ENDIAN), filePath);
+        }
+    }
+
+    /**
+     * Reads a trade stream from the buffer's position to its limit, e.g. one embedded after another header.
+     *
+     * @param buf The bytes, in little-endian order; block offsets are relative to the starting position.
+     * @param filePath The file the bytes came from, for error messages.
+     */
+    static List<Trade> read(ByteBuffer buf, Path filePath) throws IOException {
+        if (buf.remaining() < TradeBinaryWriter.HEADER_BYTES
+                || buf.getInt() != TradeBinaryWriter.MAGIC || buf.getInt() != TradeBinaryWriter.VERSION) {
+            throw new IOException("Not a trade file (or unsupported version): " + filePath);
+        }
+
+        List<Trade> trades = new ArrayList<>();
+        List<String> dictionary = new ArrayList<>();
+        try {
+            while (buf.hasRemaining()) {
+                int blockStart = buf.position();
+                int count = buf.getInt();
+                int newStrings = buf.getInt();
+                for (int s = 0; s < newStrings; s++) {
+                    byte[] bytes = new byte[buf.getInt()];
+                    buf.get(bytes);
+                    dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+                }
+                int columns = blockStart + TradeBinaryWriter.align8(buf.position() - blockStart);
+                if (count < 0 || columns + (long) count * TradeBinaryWriter.BYTES_PER_TRADE > buf.limit()) {
+                    throw new IOException("Truncated trade block in " + filePath);
+                }
+
+                // Column offsets within the block
+                int symbolsAt = columns + count * 8;
+                int typesAt = symbolsAt + count * 4;
+                int doublesAt = typesAt + count * 4;
+                int column = count * 8;
+                for (int i = 0; i < count; i++) {
+                    int symbolId = buf.getInt(symbolsAt + i * 4);
+                    int at = doublesAt + i * 8;
+                    trades.add(new Trade(
+                            symbolId < 0 ? null : dictionary.get(symbolId),
+                            dictionary.get(buf.getInt(typesAt + i * 4)),
+                            buf.getLong(columns + i * 8),
+                            buf.getDouble(at),
+                            buf.getDouble(at + column),
+                            buf.getDouble(at + 2 * column),
+                            buf.getDouble(at + 3 * column),
+                            buf.getDouble(at + 4 * column),
+                            buf.getDouble(at + 5 * column)));
+                }
+                buf.position(columns + count * TradeBinaryWriter.BYTES_PER_TRADE);
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt trade file " + filePath + ": " + e.getMessage(), e);
+        }
+        return trades;
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.utils;
+
+import org.example.models.Trade;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams trades to a compact block-columnar binary file, for runs that produce millions of trades.
+ *
+ * Trades are buffered into primitive column arrays and written a block at a time. Dates are stored as epoch
+ * milliseconds, and the symbol and trade type strings as ids into a dictionary that grows as new strings appear.
+ * A trade takes 64 bytes on disk regardless of its values.
+ *
+ * File layout (little-endian): magic, version, then blocks until the end of the file. Each block holds the trade
+ * count, the number of new dictionary strings, the new strings (length-prefixed UTF-8), padding to 8 bytes, and
+ * the columns: timestamps, symbol ids (-1 for none), type ids, then price, profit, balance after trade, position
+ * size, stop-loss and take-profit. Read files back with {@link TradeBinaryReader}.
+ */
+public class TradeBinaryWriter implements AutoCloseable {
+    static final int MAGIC = 0x54524453; // "TRDS"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int BYTES_PER_TRADE = 64;
+
+    private static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private ByteBuffer buffer;
+
+    // Columns of the block being filled
+    private final long[] timestamps;
+    private final int[] symbolIds;
+    private final int[] typeIds;
+    private final double[] prices;
+    private final double[] profits;
+    private final double[] balances;
+    private final double[] positionSizes;
+    private final double[] stopLossPrices;
+    private final double[] takeProfitPrices;
+    private int count = 0;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> newStrings = new ArrayList<>(); // Dictionary entries not written yet
+
+
+    /**
+     * Creates a writer with the default block size of 4096 trades.
+     *
+     * @param filePath The file to write; missing parent directories are created.
+     * @throws IOException If the file cannot be created.
+     */
+    public TradeBinaryWriter(Path filePath) throws IOException {
+        this(filePath, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param filePath The file to write; missing parent directories are created.
+     * @param blockSize The number of trades per block.
+     * @throws IOException If the file cannot be created.
+     */
+    public TradeBinaryWriter(Path filePath, int blockSize) throws IOException {
+        this(open(filePath, blockSize), blockSize);
+    }
+
+    /**
+     * Writes the trade stream into an open channel from its current position, e.g. after a caller's own header.
+     * The channel is closed with the writer.
+     */
+    TradeBinaryWriter(FileChannel channel, int blockSize) throws IOException {
+        this.channel = channel;
+        this.blockSize = blockSize;
+        this.buffer = ByteBuffer.allocateDirect(8 + blockSize * BYTES_PER_TRADE).order(ByteOrder.LITTLE_ENDIAN);
+        this.timestamps = new long[blockSize];
+        this.symbolIds = new int[blockSize];
+        this.typeIds = new int[blockSize];
+        this.prices = new double[blockSize];
+        this.profits = new double[blockSize];
+        this.balances = new double[blockSize];
+        this.positionSizes = new double[blockSize];
+        this.stopLossPrices = new double[blockSize];
+        this.takeProfitPrices = new double[blockSize];
+
+        buffer.putInt(MAGIC).putInt(VERSION);
+        drain();
+    }
+
+    /**
+     * Appends one trade, writing the current block when it is full.
+     */
+    public void write(Trade trade) throws IOException {
+        timestamps[count] = trade.getTimestamp();
+        symbolIds[count] = trade.getSymbol() == null ? -1 : idOf(trade.getSymbol());
+        typeIds[count] = idOf(trade.getType());
+        prices[count] = trade.getPrice();
+        profits[count] = trade.getProfit();
+        balances[count] = trade.getBalanceAfterTrade();
+        positionSizes[count] = trade.getPositionSize();
+        stopLossPrices[count] = trade.getStopLossPrice();
+        takeProfitPrices[count] = trade.getTakeProfitPrice();
+        if (++count == blockSize) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * Appends several trades in order.
+     */
+    public void writeAll(List<Trade> trades) throws IOException {
+        for (Trade trade : trades) {
+            write(trade);
+        }
+    }
+
+    /**
+     * Writes the trades buffered so far as a (possibly short) block.
+     */
+    public void flush() throws IOException {
+        if (count > 0) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static FileChannel open(Path filePath, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        if (filePath.getParent() != null) {
+            Files.createDirectories(filePath.getParent());
+        }
+        return FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private int idOf(String value) {
+        Integer id = dictionary.get(value);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(value, id);
+            newStrings.add(value);
+        }
+        return id;
+    }
+
+    private void writeBlock() throws IOException {
+        List<byte[]> encoded = new ArrayList<>(newStrings.size());
+        int stringBytes = 0;
+        for (String value : newStrings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            encoded.add(bytes);
+            stringBytes += 4 + bytes.length;
+        }
+        int headerBytes = align8(8 + stringBytes);
+        int required = headerBytes + count * BYTES_PER_TRADE;
+        if (buffer.capacity() < required) {
+            buffer = ByteBuffer.allocateDirect(required).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        buffer.putInt(count).putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        while (buffer.position() < headerBytes) {
+            buffer.put((byte) 0);
+        }
+        for (int i = 0; i < count; i++) buffer.putLong(timestamps[i]);
+        for (int i = 0; i < count; i++) buffer.putInt(symbolIds[i]);
+        for (int i = 0; i < count; i++) buffer.putInt(typeIds[i]);
+        putColumn(prices);
+        putColumn(profits);
+        putColumn(balances);
+        putColumn(positionSizes);
+        putColumn(stopLossPrices);
+        putColumn(takeProfitPrices);
+        drain();
+
+        newStrings.clear();
+        count = 0;
+    }
+
+    private void putColumn(double[] column) {
+        for (int i = 0; i < count; i++) {
+            buffer.putDouble(column[i]);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static int align8(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+}
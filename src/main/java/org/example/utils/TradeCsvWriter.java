@@ -0,0 +1,156 @@
+package org.example.utils;
+
+import org.example.models.Trade;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Streams trades to a CSV file through a buffered FileChannel.
+ *
+ * Rows match the {@link TradeHistoryWriter#CSV_HEADER} layout and the output of {@code String.format("%.2f")},
+ * but numbers are formatted straight into the byte buffer, so writing a trade allocates nothing in the common case.
+ */
+public class TradeCsvWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_NUMBER_BYTES = 32; // Longest number produced by the fast formatting path
+    private static final double FAST_PATH_LIMIT = 1e9; // Scaled magnitudes below this are exact to well under 1e-6
+    private static final double TIE_TOLERANCE = 1e-6; // Closer than this to a rounding tie defers to String.format
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000};
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+    private long lastTimestamp = Long.MIN_VALUE; // Trades of one run often share dates, so the last format is reused
+    private String lastDate;
+
+    /**
+     * Creates (or truncates) the output file and writes the header row.
+     *
+     * @param filePath The CSV file to write; missing parent directories are created.
+     * @throws IOException If the file cannot be created.
+     */
+    public TradeCsvWriter(Path filePath) throws IOException {
+        if (filePath.getParent() != null) {
+            Files.createDirectories(filePath.getParent());
+        }
+        this.channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        putAscii(TradeHistoryWriter.CSV_HEADER);
+    }
+
+    /**
+     * Appends one trade as a CSV row.
+     */
+    public void write(Trade trade) throws IOException {
+        if (trade.getTimestamp() != lastTimestamp || lastDate == null) {
+            lastTimestamp = trade.getTimestamp();
+            lastDate = DateUtils.format(lastTimestamp); // Dates become text only here, at output time
+        }
+        putAscii(lastDate);
+        put((byte) ',');
+        putAscii(trade.getType());
+        put((byte) ',');
+        putFixed(trade.getPrice(), 2);
+        put((byte) ',');
+        putFixed(trade.getPositionSize(), 3);
+        put((byte) ',');
+        putFixed(trade.getStopLossPrice(), 2);
+        put((byte) ',');
+        putFixed(trade.getTakeProfitPrice(), 2);
+        put((byte) ',');
+        putFixed(trade.getProfit(), 2);
+        put((byte) ',');
+        putFixed(trade.getBalanceAfterTrade(), 2);
+        put((byte) '\n');
+    }
+
+    /**
+     * Appends several trades in order.
+     */
+    public void writeAll(List<Trade> trades) throws IOException {
+        for (Trade trade : trades) {
+            write(trade);
+        }
+    }
+
+    /**
+     * Writes any buffered rows to the file.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Formats a value with a fixed number of decimals, rounding half-up like {@code String.format}.
+     * Values whose scaled magnitude is large or lies within {@link #TIE_TOLERANCE} of a tie are handed to
+     * String.format, so the output is identical to it in every case.
+     */
+    private void putFixed(double value, int decimals) throws IOException {
+        double scaled = Math.abs(value) * POWERS_OF_TEN[decimals];
+        long units = (long) scaled;
+        double fraction = scaled - units;
+        if (!(scaled < FAST_PATH_LIMIT) || Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            putAscii(String.format("%." + decimals + "f", value)); // NaN, infinities, huge values and near-ties
+            return;
+        }
+        if (fraction > 0.5) {
+            units++;
+        }
+
+        ensure(MAX_NUMBER_BYTES);
+        if (Double.doubleToRawLongBits(value) < 0) {
+            buffer.put((byte) '-'); // Also for values that round to zero, as String.format does
+        }
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0 || count <= decimals); // At least one integer digit
+        for (int i = count - 1; i >= decimals; i--) {
+            buffer.put(digits[i]);
+        }
+        buffer.put((byte) '.');
+        for (int i = decimals - 1; i >= 0; i--) {
+            buffer.put(digits[i]);
+        }
+    }
+
+    private void putAscii(String text) throws IOException {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            put((byte) text.charAt(i));
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -1,15 +1,17 @@
 package org.example.utils;
 
-import org.apache.commons.math3.analysis.solvers.LaguerreSolver;
 import org.example.models.Trade;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
  * Utility class for writing trade data to a CSV file
  */
 public class TradeHistoryWriter {
+    public static final String CSV_HEADER = "Date,Type,Price,Quantity,Stop-Loss,Take-Profit,Profit,Balance\n";
+    public static final String DEFAULT_PATH = "data/trade_results/trade_results.csv";
 
     /*
     * Writes the trade history to a CSV file for analysis
@@ -17,27 +19,51 @@ public class TradeHistoryWriter {
     * @param trades list of executed trades
     */
     public static void writeToCSV(List<Trade> trades){
-        String filePath = "data/trade_results/trade_results.csv";
-
-        try (FileWriter writer = new FileWriter(filePath)) {
-            // Write CSV headers
-            writer.append("Date,Type,Price,Quantity,Stop-Loss,Take-Profit,Profit,Balance\n");
+        writeToCSV(trades, DEFAULT_PATH);
+    }
 
-            // Write each trade
-            for (Trade trade : trades) {
-                writer.append(String.format("%s,%s,%.2f,%.3f,%.2f,%.2f,%.2f,%.2f\n",
-                        trade.getDate(),
-                        trade.getType(),
-                        trade.getPrice(),
-                        trade.getPositionSize(),
-                        trade.getStopLossPrice(),
-                        trade.getTakeProfitPrice(),
-                        trade.getProfit(),
-                        trade.getBalanceAfterTrade()));
-            }
+    /*
+    * Writes the trade history to the given CSV file, creating missing directories
+    *
+    * @param trades list of executed trades
+    * @param filePath the file to write
+    */
+    public static void writeToCSV(List<Trade> trades, String filePath){
+        try (TradeCsvWriter writer = new TradeCsvWriter(Paths.get(filePath))) {
+            writer.writeAll(trades);
             System.out.println("Trade history successfully saved to: " + filePath);
         } catch (IOException e) {
             System.err.println("Error writing trade history CSV: " + e.getMessage());
         }
     }
+
+    /*
+    * Writes the trade history in the compact binary format of TradeBinaryWriter
+    *
+    * @param trades list of executed trades
+    * @param filePath the file to write
+    */
+    public static void writeBinary(List<Trade> trades, String filePath){
+        try (TradeBinaryWriter writer = new TradeBinaryWriter(Paths.get(filePath))) {
+            writer.writeAll(trades);
+            System.out.println("Trade history successfully saved to: " + filePath);
+        } catch (IOException e) {
+            System.err.println("Error writing trade history file: " + e.getMessage());
+        }
+    }
+
+    /*
+    * Reads a trade history written by writeBinary
+    *
+    * @param filePath the file to read
+    * @return the trades, or an empty list if the file could not be read
+    */
+    public static List<Trade> readBinary(String filePath){
+        try {
+            return TradeBinaryReader.read(Path.of(filePath));
+        } catch (IOException e) {
+            System.err.println("Error reading trade history file: " + e.getMessage());
+            return List.of();
+        }
+    }
 }